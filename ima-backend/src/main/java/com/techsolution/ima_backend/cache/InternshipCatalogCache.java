@@ -0,0 +1,83 @@
+package com.techsolution.ima_backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.techsolution.ima_backend.dtos.response.InternshipResponse;
+import com.techsolution.ima_backend.support.AfterCommit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache en mémoire du catalogue des offres actives et des offres lues par id (réponses déjà converties).
+ * Borné en taille et en durée de vie ; invalidé après validation des transactions qui modifient une offre
+ * ou son entreprise. L'invalidation d'une clé attend la fin d'un chargement en cours sur cette clé
+ * puis le retire : une lecture commencée avant le commit ne peut pas laisser une valeur périmée.
+ * Métriques exposées sous les noms de cache "internships.catalog" et "internships.by-id".
+ * Les réponses renvoyées sont partagées entre les requêtes : elles ne doivent pas être modifiées.
+ */
+@Component
+public class InternshipCatalogCache {
+
+    // Le catalogue des offres actives est une seule entrée
+    private static final String CATALOG_KEY = "active";
+
+    private final Cache<String, List<InternshipResponse>> catalog;
+    private final Cache<Long, InternshipResponse> byId;
+
+    public InternshipCatalogCache(
+            @Value("${internships.cache.max-size:5000}") long maxSize,
+            @Value("${internships.cache.ttl-ms:600000}") long ttlMs,
+            MeterRegistry meterRegistry) {
+        this.catalog = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, catalog, "internships.catalog");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "internships.by-id");
+    }
+
+    public List<InternshipResponse> activeCatalog(Supplier<List<InternshipResponse>> loader) {
+        return catalog.get(CATALOG_KEY, key -> List.copyOf(loader.get()));
+    }
+
+    // Le chargeur peut lever une exception (offre introuvable) : rien n'est alors mis en cache
+    public InternshipResponse byId(Long internshipId, Function<Long, InternshipResponse> loader) {
+        return byId.get(internshipId, loader);
+    }
+
+    /**
+     * Une offre créée, modifiée ou désactivée : son entrée et le catalogue sont invalidés après commit.
+     */
+    public void evictAfterCommit(Long internshipId) {
+        AfterCommit.run(() -> {
+            if (internshipId != null) {
+                byId.invalidate(internshipId);
+            }
+            catalog.invalidate(CATALOG_KEY);
+        });
+    }
+
+    /**
+     * Modification d'une entreprise (résumé imbriqué dans chaque offre) : tout est invalidé après commit.
+     */
+    public void evictAllAfterCommit() {
+        AfterCommit.run(() -> {
+            byId.invalidateAll();
+            catalog.invalidate(CATALOG_KEY);
+        });
+    }
+}
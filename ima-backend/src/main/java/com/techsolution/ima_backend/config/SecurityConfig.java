@@ -1,8 +1,11 @@
 package com.techsolution.ima_backend.config;
 
+import com.techsolution.ima_backend.security.BoundedPasswordEncoder;
 import com.techsolution.ima_backend.security.JwtAuthFilter;
 import com.techsolution.ima_backend.services.impl.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,7 +16,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -50,7 +52,9 @@ public class SecurityConfig {
                                 "/swagger-resources/**",
                                 "/webjars/**",
                                 "/api/v1/auth/login",
-                                "/api/v1/auth/register"
+                                "/api/v1/auth/register",
+                                "/api/v1/auth/refresh-token",
+                                "/ws/**" // handshake WebSocket : le JWT est vérifié au CONNECT STOMP
                         ).permitAll()
 
                         // 🔹 2. Agreements (Conventions)
@@ -88,8 +92,7 @@ public class SecurityConfig {
                         // 🔹 5. Files (upload/download)
                         .requestMatchers(
                                 "/api/v1/files/**",
-                                "/api/v1/auth/authenticated",
-                                "/api/v1/auth/refresh-token"
+                                "/api/v1/auth/authenticated"
                         ).authenticated()
 
                         // 🔹 6. Messages & Notifications
@@ -135,10 +138,15 @@ public class SecurityConfig {
         return source;
     }
 
-    // 🔹 Password Encoder
+    // 🔹 Password Encoder (BCrypt sur un pool borné, refus 429 en cas de saturation ou d'attente trop longue)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password.bcrypt-strength:10}") int strength,
+            @Value("${security.password.pool-size:4}") int poolSize,
+            @Value("${security.password.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password.wait-timeout-ms:5000}") long waitTimeoutMs,
+            MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(strength, poolSize, queueCapacity, waitTimeoutMs, meterRegistry);
     }
 
     // 🔹 Authentication Manager
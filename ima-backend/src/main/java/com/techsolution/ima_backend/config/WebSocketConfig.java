@@ -1,27 +1,173 @@
 package com.techsolution.ima_backend.config;
 
+import com.techsolution.ima_backend.security.JwtChannelInterceptor;
+import com.techsolution.ima_backend.websocket.BrokerRelayMetrics;
+import com.techsolution.ima_backend.websocket.ExponentialBackoffReconnectStrategy;
+import com.techsolution.ima_backend.websocket.InstrumentedTcpClient;
+import com.techsolution.ima_backend.websocket.SlowConsumerHandlerDecoratorFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.messaging.simp.stomp.StompReactorNettyCodec;
+import org.springframework.messaging.tcp.TcpOperations;
+import org.springframework.messaging.tcp.reactor.ReactorNettyTcpClient;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.StringUtils;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final String BROKER_MODE_RELAY = "relay";
+
+    private final JwtChannelInterceptor jwtChannelInterceptor;
+    private final BrokerRelayMetrics brokerRelayMetrics;
+    private final SlowConsumerHandlerDecoratorFactory slowConsumerHandlerDecoratorFactory;
+
+    // Scheduler interne du broker, utilisé pour les heartbeats (injection différée : il est créé par cette config)
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    // Origines autorisées pour le handshake /ws (mêmes fronts que la config CORS)
+    @Value("${websocket.allowed-origins:http://localhost:4200,http://localhost:3000}")
+    private String[] allowedOrigins;
+
+    // simple : broker en mémoire (une seule instance) ; relay : broker STOMP externe (cluster)
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+    @Value("${websocket.broker.relay.host:localhost}")
+    private String relayHost;
+    @Value("${websocket.broker.relay.port:61613}")
+    private int relayPort;
+    @Value("${websocket.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+    @Value("${websocket.broker.relay.login:guest}")
+    private String relayLogin;
+    @Value("${websocket.broker.relay.passcode:guest}")
+    private String relayPasscode;
+    @Value("${websocket.broker.relay.reconnect.initial-delay-ms:1000}")
+    private long reconnectInitialDelayMs;
+    @Value("${websocket.broker.relay.reconnect.max-delay-ms:30000}")
+    private long reconnectMaxDelayMs;
+    @Value("${websocket.broker.relay.reconnect.multiplier:2.0}")
+    private double reconnectMultiplier;
+
+    // Heartbeats serveur <-> client (et serveur <-> broker en mode relay), 0 pour désactiver
+    @Value("${websocket.heartbeat-ms:10000}")
+    private long heartbeatMs;
+
+    // Protection contre les clients lents : au-delà, la session est fermée
+    @Value("${websocket.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+    @Value("${websocket.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+    @Value("${websocket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    // Pools dédiés des canaux STOMP (files bornées)
+    @Value("${websocket.channel.inbound.core-pool-size:4}")
+    private int inboundCorePoolSize;
+    @Value("${websocket.channel.inbound.max-pool-size:8}")
+    private int inboundMaxPoolSize;
+    @Value("${websocket.channel.inbound.queue-capacity:1000}")
+    private int inboundQueueCapacity;
+    @Value("${websocket.channel.outbound.core-pool-size:4}")
+    private int outboundCorePoolSize;
+    @Value("${websocket.channel.outbound.max-pool-size:8}")
+    private int outboundMaxPoolSize;
+    @Value("${websocket.channel.outbound.queue-capacity:1000}")
+    private int outboundQueueCapacity;
+
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler taskScheduler) {
+        this.messageBrokerTaskScheduler = taskScheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // destinations côté client pour recevoir les messages
-        registry.enableSimpleBroker("/topic", "/queue");
+        if (BROKER_MODE_RELAY.equalsIgnoreCase(brokerMode)) {
+            configureBrokerRelay(registry);
+        } else {
+            registry.enableSimpleBroker("/topic", "/queue")
+                    .setHeartbeatValue(new long[]{heartbeatMs, heartbeatMs})
+                    .setTaskScheduler(messageBrokerTaskScheduler);
+        }
         registry.setApplicationDestinationPrefixes("/app"); // préfixe pour envoyer côté serveur
+        registry.setUserDestinationPrefix("/user"); // /user/queue/** : livraison ciblée par utilisateur
+    }
+
+    /**
+     * Relais vers un broker STOMP externe (RabbitMQ + plugin STOMP, ActiveMQ...) : les abonnements
+     * sont partagés entre les instances. Les destinations /user/** non résolues localement et le
+     * registre des utilisateurs connectés sont diffusés aux autres nœuds via le broker.
+     */
+    private void configureBrokerRelay(MessageBrokerRegistry registry) {
+        TcpOperations<byte[]> tcpClient = new InstrumentedTcpClient(
+                new ReactorNettyTcpClient<>(relayHost, relayPort, new StompReactorNettyCodec()),
+                new ExponentialBackoffReconnectStrategy(reconnectInitialDelayMs, reconnectMaxDelayMs, reconnectMultiplier),
+                brokerRelayMetrics
+        );
+
+        StompBrokerRelayRegistration relay = registry.enableStompBrokerRelay("/topic", "/queue")
+                .setRelayHost(relayHost)
+                .setRelayPort(relayPort)
+                .setClientLogin(relayLogin)
+                .setClientPasscode(relayPasscode)
+                .setSystemLogin(relayLogin)
+                .setSystemPasscode(relayPasscode)
+                .setSystemHeartbeatSendInterval(heartbeatMs)
+                .setSystemHeartbeatReceiveInterval(heartbeatMs)
+                .setTcpClient(tcpClient)
+                .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                .setUserRegistryBroadcast("/topic/user-registry");
+
+        if (StringUtils.hasText(relayVirtualHost)) {
+            relay.setVirtualHost(relayVirtualHost);
+        }
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // identifie l'utilisateur (JWT) au CONNECT pour convertAndSendToUser
+        registration.interceptors(jwtChannelInterceptor);
+        registration.taskExecutor()
+                .corePoolSize(inboundCorePoolSize)
+                .maxPoolSize(inboundMaxPoolSize)
+                .queueCapacity(inboundQueueCapacity);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundCorePoolSize)
+                .maxPoolSize(outboundMaxPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(slowConsumerHandlerDecoratorFactory);
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // endpoint pour se connecter via STOMP
         registry.addEndpoint("/ws")
-                .setAllowedOriginPatterns("*")
+                .setAllowedOriginPatterns(allowedOrigins)
                 .withSockJS(); // permet SockJS fallback
     }
 }
@@ -1,5 +1,6 @@
 package com.techsolution.ima_backend.controller;
 
+import com.techsolution.ima_backend.dtos.request.LogoutRequest;
 import com.techsolution.ima_backend.dtos.request.UserLoginRequest;
 import com.techsolution.ima_backend.dtos.request.UserRegisterRequest;
 import com.techsolution.ima_backend.dtos.response.AuthResponse;
@@ -77,6 +78,16 @@ public class AuthController {
     }
 
 
+    @Operation(
+            summary = "Rafraîchir les jetons",
+            description = "Échange un refresh token (usage unique) contre une nouvelle paire de jetons. "
+                    + "La réutilisation d'un refresh token déjà échangé révoque toute la session."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Nouvelle paire de jetons",
+                    content = @Content(schema = @Schema(implementation = AuthResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Refresh token invalide, expiré ou déjà utilisé")
+    })
     @PostMapping("/refresh-token")
     public ResponseEntity<AuthResponse> refreshToken(
             @RequestHeader("Authorization") String authHeader
@@ -88,4 +99,26 @@ public class AuthController {
         return ResponseEntity.ok(authService.refreshToken(refreshToken));
     }
 
+    @Operation(
+            summary = "Déconnexion",
+            description = "Révoque le jeton d'accès envoyé dans les headers : il est refusé jusqu'à son expiration. "
+                    + "Si un refresh token est fourni, toute sa famille est révoquée."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Jeton révoqué"),
+            @ApiResponse(responseCode = "400", description = "Header Authorization absent ou mal formé")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestBody(required = false) LogoutRequest logoutRequest
+    ) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        String refreshToken = logoutRequest != null ? logoutRequest.getRefreshToken() : null;
+        authService.logout(authHeader.substring(7), refreshToken);
+        return ResponseEntity.noContent().build();
+    }
+
 }
@@ -1,7 +1,12 @@
 package com.techsolution.ima_backend.controller;
 
 import com.techsolution.ima_backend.dtos.request.InternshipRequest;
+import com.techsolution.ima_backend.dtos.request.InternshipSearchRequest;
 import com.techsolution.ima_backend.dtos.response.InternshipResponse;
+import com.techsolution.ima_backend.dtos.response.InternshipSearchResponse;
+import com.techsolution.ima_backend.dtos.response.ReindexResponse;
+import com.techsolution.ima_backend.pagination.CursorPage;
+import com.techsolution.ima_backend.services.InternshipSearchService;
 import com.techsolution.ima_backend.services.InternshipService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -9,8 +14,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -27,6 +34,7 @@ import java.util.List;
 public class InternshipController {
 
     private final InternshipService internshipService;
+    private final InternshipSearchService internshipSearchService;
 
     // Build add Internship REST API
     @Operation(
@@ -59,7 +67,9 @@ public class InternshipController {
     // Build get all Internships REST API
     @Operation(
             summary = "Lister toutes les offres de stages actives",
-            description = "Retourne la liste de toutes les offres qui n'ont pas été désactivées ou dont la date de validité n'est pas expirée."
+            description = "Retourne la liste de toutes les offres qui n'ont pas été désactivées ou dont la date de validité n'est pas expirée. "
+                    + "Préférer /search, paginé, dès que le catalogue grossit.",
+            deprecated = true
     )
     @GetMapping
     public ResponseEntity<List<InternshipResponse>> getAllInternships() {
@@ -67,6 +77,65 @@ public class InternshipController {
         return ResponseEntity.ok(internships);
     }
 
+    // Build search Internships REST API
+    @Operation(
+            summary = "Rechercher des offres de stages actives (pagination par curseur)",
+            description = "Filtres optionnels sur le pays, la ville, la rémunération et une plage de dates de début ; "
+                    + "tri par date de début (croissante ou décroissante) ou par nouveauté. "
+                    + "Renvoyer nextCursor, avec les mêmes filtres et le même tri, pour obtenir la page suivante."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page d'offres récupérée"),
+            @ApiResponse(responseCode = "400", description = "Curseur ou filtre invalide")
+    })
+    @GetMapping("search")
+    public ResponseEntity<CursorPage<InternshipResponse>> searchInternships(
+            @ParameterObject InternshipSearchRequest criteria,
+            @Parameter(description = "Curseur renvoyé par la page précédente (vide pour la première page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre d'offres par page (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(internshipService.searchInternships(criteria, cursor, size));
+    }
+
+    // Build full-text search Internships REST API
+    @Operation(
+            summary = "Recherche plein texte dans les offres de stages actives",
+            description = "Recherche dans le titre, la description, la ville, le pays et le nom de l'entreprise, triée par pertinence. "
+                    + "Syntaxe : mots (tous requis), \"expression exacte\", -exclu, préfixe*. "
+                    + "Sans texte, toutes les offres correspondant aux filtres sont renvoyées. "
+                    + "La réponse inclut le nombre total de résultats et les comptages par pays, ville et rémunération."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Résultats et facettes récupérés"),
+            @ApiResponse(responseCode = "400", description = "Curseur invalide")
+    })
+    @GetMapping("search/text")
+    public ResponseEntity<InternshipSearchResponse> searchInternshipsText(
+            @Parameter(description = "Texte recherché") @RequestParam(value = "q", required = false) String query,
+            @Parameter(description = "Filtre exact sur le pays") @RequestParam(required = false) String country,
+            @Parameter(description = "Filtre exact sur la ville") @RequestParam(required = false) String city,
+            @Parameter(description = "Filtre sur la rémunération") @RequestParam(required = false) Boolean isPaid,
+            @Parameter(description = "Curseur renvoyé par la page précédente (vide pour la première page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre d'offres par page (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(internshipSearchService.search(query, country, city, isPaid, cursor, size));
+    }
+
+    // Build reindex Internships REST API
+    @Operation(
+            summary = "Reconstruire l'index de recherche des offres",
+            description = "Réindexe toutes les offres actives (administrateur uniquement)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Index reconstruit"),
+            @ApiResponse(responseCode = "403", description = "Réservé aux administrateurs")
+    })
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping("search/reindex")
+    public ResponseEntity<ReindexResponse> reindexInternships() {
+        return ResponseEntity.ok(internshipSearchService.reindex());
+    }
+
     // Build update Internship REST API
     @Operation(summary = "Mettre à jour une offre de stage")
     @ApiResponses(value = {
@@ -1,7 +1,15 @@
 package com.techsolution.ima_backend.controller;
 
 import com.techsolution.ima_backend.dtos.request.MessageRequest;
+import com.techsolution.ima_backend.dtos.response.ConversationSummaryResponse;
 import com.techsolution.ima_backend.dtos.response.MessageResponse;
+import com.techsolution.ima_backend.dtos.response.MessageSearchResultResponse;
+import com.techsolution.ima_backend.dtos.response.PresenceResponse;
+import com.techsolution.ima_backend.dtos.response.ReadReceiptResponse;
+import com.techsolution.ima_backend.dtos.response.ReindexResponse;
+import com.techsolution.ima_backend.pagination.CursorPage;
+import com.techsolution.ima_backend.services.InboxService;
+import com.techsolution.ima_backend.services.MessageSearchService;
 import com.techsolution.ima_backend.services.MessageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,6 +23,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -29,6 +38,8 @@ import org.springframework.web.bind.annotation.*;
 public class MessageController {
 
     private final MessageService messageService;
+    private final InboxService inboxService;
+    private final MessageSearchService messageSearchService;
 
     //Build add message REST API
     @Operation(
@@ -45,6 +56,111 @@ public class MessageController {
         return new ResponseEntity<>(savedMessage, HttpStatus.CREATED);
     }
 
+    //Build get presence REST API
+    @Operation(
+            summary = "Présence d'un utilisateur",
+            description = "Indique si l'utilisateur a au moins une session WebSocket ouverte. "
+                    + "Réservé aux utilisateurs ayant une conversation avec lui et aux administrateurs."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Présence récupérée"),
+            @ApiResponse(responseCode = "403", description = "Aucune conversation avec cet utilisateur")
+    })
+    @GetMapping("presence/{userId}")
+    public ResponseEntity<PresenceResponse> getPresence(
+            @Parameter(description = "Identifiant de l'utilisateur") @PathVariable("userId") Long userId) {
+        return ResponseEntity.ok(messageService.getPresence(userId));
+    }
+
+    //Build get inbox REST API
+    @Operation(
+            summary = "Boîte de réception",
+            description = "Liste les conversations de l'utilisateur connecté avec le dernier message et le nombre de "
+                    + "messages non lus, de la plus récemment active à la plus ancienne (pagination par curseur)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Conversations récupérées"),
+            @ApiResponse(responseCode = "400", description = "Curseur invalide")
+    })
+    @GetMapping("inbox")
+    public ResponseEntity<CursorPage<ConversationSummaryResponse>> getInbox(
+            @Parameter(description = "Curseur renvoyé par la page précédente (vide pour la première page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre de conversations par page (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(inboxService.getInbox(cursor, size));
+    }
+
+    //Build search messages REST API
+    @Operation(
+            summary = "Rechercher dans ses messages",
+            description = "Recherche plein texte dans les conversations de l'utilisateur connecté, triée par pertinence. "
+                    + "Syntaxe : mots (tous requis), \"expression exacte\", -exclu, préfixe*."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Résultats récupérés"),
+            @ApiResponse(responseCode = "400", description = "Curseur invalide")
+    })
+    @GetMapping("search")
+    public ResponseEntity<CursorPage<MessageSearchResultResponse>> searchMessages(
+            @Parameter(description = "Texte recherché") @RequestParam("q") String query,
+            @Parameter(description = "Curseur renvoyé par la page précédente (vide pour la première page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre de résultats par page (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(messageSearchService.search(query, cursor, size));
+    }
+
+    //Build reindex messages REST API
+    @Operation(
+            summary = "Reconstruire l'index de recherche des messages",
+            description = "Réindexe tous les messages existants (administrateur uniquement)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Index reconstruit"),
+            @ApiResponse(responseCode = "403", description = "Réservé aux administrateurs")
+    })
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping("search/reindex")
+    public ResponseEntity<ReindexResponse> reindexMessages() {
+        return ResponseEntity.ok(messageSearchService.reindex());
+    }
+
+    //Build get conversation REST API
+    @Operation(
+            summary = "Conversation avec un utilisateur (pagination par curseur)",
+            description = "Récupère les messages échangés entre l'utilisateur connecté et un autre utilisateur, "
+                    + "du plus récent au plus ancien. Renvoyer nextCursor pour obtenir la page suivante."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page de messages récupérée"),
+            @ApiResponse(responseCode = "400", description = "Curseur invalide")
+    })
+    @GetMapping("conversations/{peerId}")
+    public ResponseEntity<CursorPage<MessageResponse>> getConversation(
+            @Parameter(description = "Identifiant de l'autre participant") @PathVariable("peerId") Long peerId,
+            @Parameter(description = "Curseur renvoyé par la page précédente (vide pour la première page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre de messages par page (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(messageService.getConversation(peerId, cursor, size));
+    }
+
+    //Build mark conversation read REST API
+    @Operation(
+            summary = "Marquer une conversation comme lue",
+            description = "Marque comme lus tous les messages reçus de l'interlocuteur jusqu'au message upTo inclus "
+                    + "(tous si absent). Un seul accusé de lecture est envoyé à l'expéditeur sur /user/queue/messages/read."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Messages marqués comme lus"),
+            @ApiResponse(responseCode = "400", description = "Le message upTo n'appartient pas à cette conversation"),
+            @ApiResponse(responseCode = "404", description = "Utilisateur ou message introuvable")
+    })
+    @PutMapping("conversations/{peerId}/read")
+    public ResponseEntity<ReadReceiptResponse> markConversationRead(
+            @Parameter(description = "Identifiant de l'autre participant") @PathVariable("peerId") Long peerId,
+            @Parameter(description = "Dernier message lu (inclus)") @RequestParam(required = false) Long upTo) {
+        return ResponseEntity.ok(messageService.markConversationRead(peerId, upTo));
+    }
+
     //Build get message REST API
     @Operation(summary = "Récupérer un message par son ID")
     @ApiResponses(value = {
@@ -61,8 +177,16 @@ public class MessageController {
     //Build get all messages REST API
     @Operation(
             summary = "Lister tous les messages (Pagination)",
-            description = "Récupère une page de messages triés par ID décroissant (les plus récents en premier)."
+            description = "Récupère une page de messages de tous les utilisateurs triés par ID décroissant "
+                    + "(administrateur uniquement). Obsolète : utiliser la boîte de réception et les conversations.",
+            deprecated = true
     )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page de messages récupérée"),
+            @ApiResponse(responseCode = "403", description = "Réservé aux administrateurs")
+    })
+    @Deprecated
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @GetMapping
     public ResponseEntity<Page<MessageResponse>> getAllMessages(
             @Parameter(description = "Numéro de la page (commence à 0)") @RequestParam(defaultValue = "0") int page,
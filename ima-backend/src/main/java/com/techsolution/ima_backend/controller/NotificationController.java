@@ -1,7 +1,13 @@
 package com.techsolution.ima_backend.controller;
 
+import com.techsolution.ima_backend.dtos.request.NotificationBulkRequest;
 import com.techsolution.ima_backend.dtos.request.NotificationUpdateRequest;
+import com.techsolution.ima_backend.dtos.response.BulkOperationResponse;
 import com.techsolution.ima_backend.dtos.response.NotificationResponse;
+import com.techsolution.ima_backend.dtos.response.RetentionReportResponse;
+import com.techsolution.ima_backend.dtos.response.UnreadCountResponse;
+import com.techsolution.ima_backend.pagination.CursorPage;
+import com.techsolution.ima_backend.services.NotificationRetentionService;
 import com.techsolution.ima_backend.services.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,6 +16,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -26,6 +33,84 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationRetentionService notificationRetentionService;
+
+    //Build get notification feed REST API
+    @Operation(
+            summary = "Fil des notifications (pagination par curseur)",
+            description = "Récupère les notifications de l'utilisateur connecté, de la plus récente à la plus ancienne. "
+                    + "Renvoyer nextCursor pour obtenir la page suivante."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page de notifications récupérée"),
+            @ApiResponse(responseCode = "400", description = "Curseur invalide")
+    })
+    @GetMapping("feed")
+    public ResponseEntity<CursorPage<NotificationResponse>> getNotificationFeed(
+            @Parameter(description = "Curseur renvoyé par la page précédente (vide pour la première page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre de notifications par page (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(notificationService.getNotificationFeed(cursor, size));
+    }
+
+    //Build get notifications since REST API
+    @Operation(
+            summary = "Rattraper les notifications manquées",
+            description = "À appeler à la reconnexion WebSocket avec le curseur de la dernière notification reçue : "
+                    + "renvoie les notifications suivantes, de la plus ancienne à la plus récente. "
+                    + "Renvoyer nextCursor tant que hasNext est vrai."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notifications manquées récupérées"),
+            @ApiResponse(responseCode = "400", description = "Curseur absent ou invalide")
+    })
+    @GetMapping("since")
+    public ResponseEntity<CursorPage<NotificationResponse>> getNotificationsSince(
+            @Parameter(description = "Curseur de la dernière notification reçue") @RequestParam String cursor,
+            @Parameter(description = "Nombre de notifications par page (max 100)") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(notificationService.getNotificationsSince(cursor, size));
+    }
+
+    //Build get unread count REST API
+    @Operation(
+            summary = "Nombre de notifications non vues",
+            description = "Compteur léger destiné à être interrogé régulièrement par la barre de navigation."
+    )
+    @GetMapping("unread-count")
+    public ResponseEntity<UnreadCountResponse> getUnreadCount() {
+        return ResponseEntity.ok(notificationService.getUnreadCount());
+    }
+
+    //Build bulk mark notifications read REST API
+    @Operation(
+            summary = "Marquer des notifications comme vues (groupé)",
+            description = "Un seul UPDATE sur les notifications de l'utilisateur connecté : par liste d'identifiants, "
+                    + "jusqu'au curseur 'upTo' inclus, ou toutes si aucun critère n'est fourni."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Nombre de notifications marquées"),
+            @ApiResponse(responseCode = "400", description = "Curseur invalide ou trop d'identifiants")
+    })
+    @PutMapping("read")
+    public ResponseEntity<BulkOperationResponse> markNotificationsViewed(
+            @RequestBody(required = false) NotificationBulkRequest request) {
+        return ResponseEntity.ok(notificationService.markNotificationsViewed(request));
+    }
+
+    //Build bulk delete notifications REST API
+    @Operation(
+            summary = "Supprimer des notifications (groupé)",
+            description = "Un seul DELETE sur les notifications de l'utilisateur connecté : par liste d'identifiants "
+                    + "ou jusqu'au curseur 'upTo' inclus. Un des deux critères est obligatoire."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Nombre de notifications supprimées"),
+            @ApiResponse(responseCode = "400", description = "Aucun critère, curseur invalide ou trop d'identifiants")
+    })
+    @PostMapping("bulk-delete")
+    public ResponseEntity<BulkOperationResponse> deleteNotifications(@RequestBody NotificationBulkRequest request) {
+        return ResponseEntity.ok(notificationService.deleteNotifications(request));
+    }
 
     //Build get notification REST API
     @Operation(summary = "Récupérer une notification par son ID")
@@ -83,4 +168,20 @@ public class NotificationController {
         return ResponseEntity.noContent().build();
     }
 
+    //Build purge notifications REST API
+    @Operation(
+            summary = "Appliquer la rétention des notifications",
+            description = "Supprime (ou archive) les notifications au-delà de leur durée de conservation, "
+                    + "sans attendre le passage planifié (administrateur uniquement)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rétention appliquée"),
+            @ApiResponse(responseCode = "403", description = "Réservé aux administrateurs")
+    })
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping("retention/purge")
+    public ResponseEntity<RetentionReportResponse> purgeNotifications() {
+        return ResponseEntity.ok(notificationRetentionService.purge());
+    }
+
 }
@@ -0,0 +1,31 @@
+package com.techsolution.ima_backend.dtos.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Filtres de la recherche d'offres actives ; un filtre absent n'est pas appliqué.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class InternshipSearchRequest {
+
+    private String country;
+    private String city;
+    private Boolean isPaid;
+
+    // Date de début comprise entre startFrom et startTo (bornes incluses)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startTo;
+
+    private InternshipSort sort = InternshipSort.START_DATE_ASC;
+}
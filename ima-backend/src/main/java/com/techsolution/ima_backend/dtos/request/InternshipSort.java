@@ -0,0 +1,11 @@
+package com.techsolution.ima_backend.dtos.request;
+
+/**
+ * Ordres de tri proposés par la recherche d'offres ; chacun est départagé par l'identifiant
+ * pour que la pagination par curseur soit stable.
+ */
+public enum InternshipSort {
+    START_DATE_ASC, // Prochains départs en premier (offres sans date de début exclues)
+    START_DATE_DESC, // Départs les plus lointains en premier (offres sans date de début exclues)
+    NEWEST // Dernières offres publiées en premier
+}
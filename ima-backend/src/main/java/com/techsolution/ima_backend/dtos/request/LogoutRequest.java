@@ -0,0 +1,16 @@
+package com.techsolution.ima_backend.dtos.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogoutRequest {
+
+    // Optionnel : révoque aussi la session de rafraîchissement
+    private String refreshToken;
+}
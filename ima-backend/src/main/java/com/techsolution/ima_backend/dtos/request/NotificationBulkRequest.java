@@ -0,0 +1,23 @@
+package com.techsolution.ima_backend.dtos.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Sélection des notifications de l'utilisateur connecté visées par une opération groupée :
+ * soit une liste d'identifiants, soit toutes les notifications jusqu'au curseur inclus
+ * (curseur d'une notification du fil), soit, à défaut, toutes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationBulkRequest {
+
+    private List<Long> ids;
+    private String upTo;
+}
@@ -0,0 +1,15 @@
+package com.techsolution.ima_backend.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationResponse {
+
+    private int affectedCount;
+}
@@ -0,0 +1,20 @@
+package com.techsolution.ima_backend.dtos.response;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class ConversationSummaryResponse {
+
+    private UserSummaryResponse peer;
+
+    private Long lastMessageId;
+    private String lastMessagePreview;
+    private LocalDateTime lastMessageAt;
+    private Long lastSenderId;
+
+    private int unreadCount;
+}
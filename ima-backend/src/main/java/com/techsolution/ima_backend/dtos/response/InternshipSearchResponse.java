@@ -0,0 +1,26 @@
+package com.techsolution.ima_backend.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class InternshipSearchResponse {
+
+    private List<InternshipResponse> items;
+    private String nextCursor;
+    private boolean hasNext;
+
+    // Nombre total d'offres correspondant à la recherche (toutes pages confondues)
+    private long totalHits;
+
+    // Comptages par dimension ("country", "city", "paid"), valeurs les plus fréquentes d'abord
+    private Map<String, List<FacetCountResponse>> facets;
+}
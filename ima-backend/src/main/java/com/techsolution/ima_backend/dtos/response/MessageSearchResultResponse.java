@@ -0,0 +1,18 @@
+package com.techsolution.ima_backend.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageSearchResultResponse {
+
+    private MessageResponse message;
+
+    // Extrait avec les termes trouvés entourés de <mark> (contenu HTML échappé)
+    private String highlight;
+}
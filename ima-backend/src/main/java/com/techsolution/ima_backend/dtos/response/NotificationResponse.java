@@ -1,5 +1,6 @@
 package com.techsolution.ima_backend.dtos.response;
 
+import com.techsolution.ima_backend.entities.NotificationKind;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,9 +19,11 @@ public class NotificationResponse {
     private LocalDateTime notificationDate;
     private boolean isViewed;
     private String relatedUrl;
+    private NotificationKind kind;
+    private int occurrences;
 
-    // Si NotificationType est implémenté, il doit être inclus ici
-    // private NotificationType type;
+    // Position de la notification dans le fil : à renvoyer à /since pour rattraper les suivantes
+    private String cursor;
 
     // Nous omettons l'objet User complet car le destinataire est l'utilisateur qui fait la requête.
 }
@@ -0,0 +1,16 @@
+package com.techsolution.ima_backend.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresenceResponse {
+
+    private Long userId;
+    private boolean online;
+}
@@ -0,0 +1,24 @@
+package com.techsolution.ima_backend.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Accusé de lecture groupé : tous les messages de l'expéditeur jusqu'à upToMessageId
+ * (inclus) ont été lus par readerId.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadReceiptResponse {
+
+    private Long readerId;
+    private Long upToMessageId;
+    private int markedCount;
+    private LocalDateTime readAt;
+}
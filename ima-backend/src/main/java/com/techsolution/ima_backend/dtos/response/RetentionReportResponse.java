@@ -0,0 +1,18 @@
+package com.techsolution.ima_backend.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RetentionReportResponse {
+
+    private long viewedPurged;
+    private long unviewedPurged;
+    private boolean archived;
+    private long durationMs;
+}
@@ -27,11 +27,11 @@ public class Application {
     @OneToOne(mappedBy = "application", cascade = CascadeType.ALL)
     private Agreement agreement;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "internship_id", nullable = false)
     private Internship internship;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
     private Student student;
 }
@@ -0,0 +1,60 @@
+package com.techsolution.ima_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vue dénormalisée de la boîte de réception : une ligne par (propriétaire, interlocuteur),
+ * donc deux lignes par conversation. Maintenue au fil de l'eau par le service de messagerie.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "conversation_summary", indexes = {
+        @Index(name = "ux_conversation_summary_owner_peer", columnList = "owner_id, peer_id", unique = true),
+        @Index(name = "ix_conversation_summary_owner_last", columnList = "owner_id, last_message_at, id")
+})
+public class ConversationSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Utilisateur dont c'est la boîte de réception
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User owner;
+
+    // Interlocuteur
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "peer_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User peer;
+
+    // Dernier message (pas de clé étrangère : le message peut être supprimé puis remplacé)
+    @Column(name = "last_message_id", nullable = false)
+    private Long lastMessageId;
+
+    @Column(name = "last_message_preview")
+    private String lastMessagePreview;
+
+    @Column(name = "last_message_at", nullable = false)
+    private LocalDateTime lastMessageAt;
+
+    @Column(name = "last_sender_id", nullable = false)
+    private Long lastSenderId;
+
+    // Messages reçus de l'interlocuteur et non lus par le propriétaire
+    @Column(name = "unread_count", nullable = false)
+    private int unreadCount;
+}
@@ -15,7 +15,12 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "internships")
+@Table(name = "internships", indexes = {
+        // Recherche filtrée par pays / ville, triée ou bornée sur la date de début
+        @Index(name = "ix_internships_active_country_city_start", columnList = "is_active, country, city, start_date"),
+        // Parcours du catalogue sans filtre géographique, par date de début puis id
+        @Index(name = "ix_internships_active_start", columnList = "is_active, start_date, id")
+})
 public class Internship {
 
     @Id
@@ -35,7 +40,7 @@ public class Internship {
     @Column(nullable = false)
     private Boolean isPaid;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company_id", nullable = false)
     private Company company;
 
@@ -13,7 +13,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        // Conversation dans un sens (expéditeur -> destinataire), parcourue par date puis id
+        @Index(name = "ix_messages_sender_recipient_sent", columnList = "sender_id, recipient_id, sent_date, id")
+})
 public class Message {
 
     @Id
@@ -13,7 +13,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        // Compteur des notifications non vues d'un utilisateur
+        @Index(name = "ix_notifications_user_viewed_date", columnList = "user_id, is_viewed, notification_date"),
+        // Fil complet de l'utilisateur, parcouru par date puis id
+        @Index(name = "ix_notifications_user_date", columnList = "user_id, notification_date, id"),
+        // Rétention : parcours des notifications les plus anciennes par état, tous utilisateurs confondus
+        @Index(name = "ix_notifications_viewed_date", columnList = "is_viewed, notification_date, id")
+})
 public class Notification {
 
     @Id
@@ -34,7 +41,12 @@ public class Notification {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    // Optionnel: type de notification pour l'icône dans l'UI (ex: INFO, WARNING, SUCCESS)
-    // @Enumerated(EnumType.STRING)
-    // private NotificationType type;
+    // Nature de la notification (icône dans l'UI, regroupement des rafales)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 40)
+    private NotificationKind kind = NotificationKind.SYSTEM;
+
+    // Nombre d'événements regroupés dans cette notification (1 si non regroupée)
+    @Column(nullable = false, columnDefinition = "int default 1")
+    private int occurrences = 1;
 }
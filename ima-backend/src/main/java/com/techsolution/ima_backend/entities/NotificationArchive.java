@@ -0,0 +1,44 @@
+package com.techsolution.ima_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Copie des notifications retirées par la rétention, quand l'archivage est activé.
+ * Même identifiant que la notification d'origine ; pas de clé étrangère vers l'utilisateur
+ * pour ne pas bloquer sa suppression.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "notifications_archive", indexes = {
+        @Index(name = "ix_notifications_archive_user_date", columnList = "user_id, notification_date")
+})
+public class NotificationArchive {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    private String message;
+    private LocalDateTime notificationDate;
+    private boolean isViewed;
+    private String relatedUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 40)
+    private NotificationKind kind;
+
+    private int occurrences;
+
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,30 @@
+package com.techsolution.ima_backend.entities;
+
+/**
+ * Nature d'une notification. Les natures dotées d'un libellé groupé sont regroupées :
+ * plusieurs occurrences pour le même destinataire et la même ressource, dans la fenêtre
+ * de regroupement, ne forment qu'une notification comptée.
+ */
+public enum NotificationKind {
+    SYSTEM(null), // Message libre, jamais regroupé
+    APPLICATION_SUBMITTED("%d nouvelles candidatures pour « %s »"),
+    AGREEMENT_ASSIGNED(null),
+    AGREEMENT_PENDING_VALIDATION(null),
+    AGREEMENT_VALIDATED(null),
+    AGREEMENT_STATUS_CHANGED(null);
+
+    // Libellé groupé : nombre d'occurrences puis sujet (ex: titre du stage)
+    private final String countedMessage;
+
+    NotificationKind(String countedMessage) {
+        this.countedMessage = countedMessage;
+    }
+
+    public boolean isCoalescable() {
+        return countedMessage != null;
+    }
+
+    public String countedMessage(int occurrences, String subject) {
+        return String.format(countedMessage, occurrences, subject);
+    }
+}
@@ -0,0 +1,54 @@
+package com.techsolution.ima_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Effet de bord (push WebSocket, notification, e-mail...) enregistré dans la même transaction
+ * que la modification métier, puis livré par OutboxDispatcher. Les lignes livrées sont supprimées.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox", indexes = {
+        // Réclamation des lignes à livrer : status = PENDING AND available_at <= now, par ordre d'arrivée
+        @Index(name = "ix_outbox_status_available", columnList = "status, available_at, id")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Type d'effet, associé à un handler du dispatcher (ex: websocket.push)
+    @Column(nullable = false, length = 100)
+    private String type;
+
+    // Contenu JSON propre au type
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status;
+
+    private int attempts;
+
+    // Date avant laquelle la ligne n'est pas livrable (nouvelle tentative ou réclamation en cours)
+    @Column(nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
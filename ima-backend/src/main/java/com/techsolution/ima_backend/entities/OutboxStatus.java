@@ -0,0 +1,6 @@
+package com.techsolution.ima_backend.entities;
+
+public enum OutboxStatus {
+    PENDING, // En attente de livraison (ou de nouvelle tentative)
+    FAILED // Abandonné après le nombre maximal de tentatives, conservé pour analyse
+}
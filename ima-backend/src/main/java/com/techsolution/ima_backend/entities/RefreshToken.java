@@ -0,0 +1,53 @@
+package com.techsolution.ima_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+
+/**
+ * Refresh token émis à un utilisateur. Seule l'empreinte SHA-256 du token est stockée.
+ * Tous les tokens issus d'une même connexion partagent un familyId : chaque rotation
+ * consomme le token courant et en émet un nouveau dans la même famille.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "ux_refresh_tokens_hash", columnList = "token_hash", unique = true),
+        @Index(name = "ix_refresh_tokens_family", columnList = "family_id"),
+        @Index(name = "ix_refresh_tokens_expires_at", columnList = "expires_at")
+})
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @Column(name = "issued_at", nullable = false)
+    private Instant issuedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // true dès que le token a été échangé (rotation) ou que sa famille a été révoquée
+    private boolean revoked = false;
+}
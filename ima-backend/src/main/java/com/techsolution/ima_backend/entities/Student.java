@@ -21,7 +21,7 @@ public class Student {
     private Long id;
 
     // 2. Relation OneToOne: Un étudiant est un utilisateur, l'ID est mappé.
-    @OneToOne(optional = false)
+    @OneToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
     private String studentCode;
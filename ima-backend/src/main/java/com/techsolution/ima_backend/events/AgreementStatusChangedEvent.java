@@ -0,0 +1,20 @@
+package com.techsolution.ima_backend.events;
+
+import com.techsolution.ima_backend.entities.AgreementStatus;
+
+/**
+ * Une convention a changé d'état ; {@code previousStatus} vaut null à la création.
+ * Les destinataires possibles (étudiant, entreprise, enseignant validateur) sont résolus
+ * au moment de la publication, dans la transaction qui a effectué la transition.
+ */
+public record AgreementStatusChangedEvent(
+        Long agreementId,
+        Long applicationId,
+        String internshipTitle,
+        AgreementStatus previousStatus,
+        AgreementStatus newStatus,
+        Long studentUserId,
+        Long companyUserId,
+        Long validatorUserId
+) {
+}
@@ -0,0 +1,15 @@
+package com.techsolution.ima_backend.events;
+
+/**
+ * Une candidature vient d'être déposée sur une offre de stage.
+ * Porte les identifiants et libellés nécessaires aux abonnés, qui n'ont pas à recharger les entités.
+ */
+public record ApplicationSubmittedEvent(
+        Long applicationId,
+        Long internshipId,
+        String internshipTitle,
+        Long studentUserId,
+        String studentName,
+        Long companyUserId
+) {
+}
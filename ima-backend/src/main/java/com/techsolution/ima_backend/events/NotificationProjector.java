@@ -0,0 +1,80 @@
+package com.techsolution.ima_backend.events;
+
+import com.techsolution.ima_backend.entities.NotificationKind;
+import com.techsolution.ima_backend.outbox.NotificationBatch;
+import com.techsolution.ima_backend.outbox.NotificationBatchHandler;
+import com.techsolution.ima_backend.services.NotificationService.Draft;
+import com.techsolution.ima_backend.services.OutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transforme les événements métier en notifications.
+ * Les destinataires et libellés sont calculés dans la transaction qui publie l'événement,
+ * puis enregistrés dans l'outbox avec elle : un rollback ne notifie personne, et la requête
+ * d'origine n'attend ni l'écriture des notifications ni leur envoi WebSocket.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationProjector {
+
+    private final OutboxService outboxService;
+
+    @EventListener
+    public void on(ApplicationSubmittedEvent event) {
+        enqueue(List.of(new Draft(
+                event.companyUserId(),
+                NotificationKind.APPLICATION_SUBMITTED,
+                event.internshipTitle(),
+                "Nouvelle candidature de " + event.studentName() + " pour « " + event.internshipTitle() + " »",
+                // Ressource commune à toutes les candidatures du stage : permet leur regroupement
+                "/internships/" + event.internshipId() + "/applications")));
+    }
+
+    @EventListener
+    public void on(AgreementStatusChangedEvent event) {
+        String relatedUrl = "/agreements/" + event.agreementId();
+        String title = "« " + event.internshipTitle() + " »";
+        List<Draft> drafts = new ArrayList<>(2);
+
+        switch (event.newStatus()) {
+            case DRAFT -> addDraft(drafts, event.validatorUserId(), NotificationKind.AGREEMENT_ASSIGNED,
+                    "Vous avez été désigné validateur de la convention du stage " + title, relatedUrl);
+            case PENDING_VALIDATION -> addDraft(drafts, event.validatorUserId(), NotificationKind.AGREEMENT_PENDING_VALIDATION,
+                    "La convention du stage " + title + " attend votre validation", relatedUrl);
+            case VALIDATED -> {
+                String message = "La convention du stage " + title + " a été validée";
+                addDraft(drafts, event.studentUserId(), NotificationKind.AGREEMENT_VALIDATED, message, relatedUrl);
+                addDraft(drafts, event.companyUserId(), NotificationKind.AGREEMENT_VALIDATED, message, relatedUrl);
+            }
+            default -> {
+                String message = "La convention du stage " + title + " est passée à l'état " + event.newStatus();
+                addDraft(drafts, event.studentUserId(), NotificationKind.AGREEMENT_STATUS_CHANGED, message, relatedUrl);
+                addDraft(drafts, event.companyUserId(), NotificationKind.AGREEMENT_STATUS_CHANGED, message, relatedUrl);
+            }
+        }
+
+        log.debug("Convention [{}] {} -> {} : {} notification(s)",
+                event.agreementId(), event.previousStatus(), event.newStatus(), drafts.size());
+        enqueue(drafts);
+    }
+
+    private void enqueue(List<Draft> drafts) {
+        if (!drafts.isEmpty()) {
+            outboxService.enqueue(NotificationBatchHandler.TYPE, new NotificationBatch(drafts));
+        }
+    }
+
+    private static void addDraft(List<Draft> drafts, Long recipientId, NotificationKind kind,
+                                 String message, String relatedUrl) {
+        if (recipientId != null) {
+            drafts.add(new Draft(recipientId, kind, null, message, relatedUrl));
+        }
+    }
+}
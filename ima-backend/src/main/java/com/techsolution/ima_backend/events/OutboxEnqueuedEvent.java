@@ -0,0 +1,8 @@
+package com.techsolution.ima_backend.events;
+
+/**
+ * Publié à chaque écriture dans l'outbox ; après commit, il réveille le dispatcher
+ * pour une livraison immédiate sans attendre le prochain passage planifié.
+ */
+public record OutboxEnqueuedEvent(String type) {
+}
@@ -1,10 +1,15 @@
 package com.techsolution.ima_backend.mappers;
 
 import com.techsolution.ima_backend.dtos.request.ApplicationRequest;
+import com.techsolution.ima_backend.dtos.response.AgreementSummaryResponse;
 import com.techsolution.ima_backend.dtos.response.ApplicationResponse;
 import com.techsolution.ima_backend.dtos.response.ApplicationSummaryResponse;
+import com.techsolution.ima_backend.dtos.response.CompanySummaryResponse;
+import com.techsolution.ima_backend.dtos.response.InternshipSummaryResponse;
+import com.techsolution.ima_backend.dtos.response.StudentSummaryResponse;
 import com.techsolution.ima_backend.entities.Application;
 import com.techsolution.ima_backend.entities.ApplicationStatus;
+import com.techsolution.ima_backend.repository.projection.ApplicationRow;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -58,6 +63,34 @@ public final class ApplicationMapper {
         return dto;
     }
 
+    // --- 2 bis. Projection -> DTO de Réponse (liste en lecture seule, sans entité) ---
+    public static ApplicationResponse toResponseDto(ApplicationRow row) {
+        ApplicationResponse dto = new ApplicationResponse();
+        dto.setId(row.id());
+        dto.setApplicationDate(row.applicationDate());
+        dto.setStatus(row.status());
+        dto.setCvUrl(row.cvUrl());
+        dto.setCoverLetter(row.coverLetter());
+
+        dto.setStudent(new StudentSummaryResponse(row.studentId(), row.studentFirstName(), row.studentLastName(),
+                row.studentEmail(), row.studentLevel()));
+        dto.setInternship(new InternshipSummaryResponse(row.internshipId(), row.internshipTitle(),
+                row.internshipCity(), row.internshipCountry(),
+                new CompanySummaryResponse(row.companyId(), row.companyName(), row.companyWebsite())));
+
+        // Jointure externe : colonnes nulles sans convention ; validateur absent comme dans AgreementMapper.toSummaryResponse
+        if (row.agreementId() != null) {
+            AgreementSummaryResponse agreement = new AgreementSummaryResponse();
+            agreement.setId(row.agreementId());
+            agreement.setCreationDate(row.agreementCreationDate());
+            agreement.setStatus(row.agreementStatus());
+            agreement.setDocumentPdfUrl(row.agreementDocumentPdfUrl());
+            dto.setAgreement(agreement);
+        }
+
+        return dto;
+    }
+
     // --- 3. DTO de Requête -> Entity (Request) ---
     public static Application toEntity(ApplicationRequest dto) {
         if (dto == null) return null;
@@ -5,6 +5,7 @@ import com.techsolution.ima_backend.dtos.response.CompanyResponse;
 import com.techsolution.ima_backend.dtos.response.CompanySummaryResponse;
 import com.techsolution.ima_backend.dtos.response.InternshipSummaryResponse;
 import com.techsolution.ima_backend.entities.Company;
+import com.techsolution.ima_backend.repository.projection.CompanyRow;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -65,6 +66,30 @@ public final class CompanyMapper {
         return dto;
     }
 
+    // --- 2 bis. Projection -> DTO de Réponse (liste en lecture seule, sans entité) ---
+    /**
+     * @param internships offres publiées par l'entreprise, lues par une requête séparée
+     */
+    public static CompanyResponse toResponseDto(CompanyRow row, List<InternshipSummaryResponse> internships) {
+        CompanyResponse dto = new CompanyResponse();
+        dto.setId(row.id());
+        dto.setName(row.name());
+        dto.setAddress(row.address());
+        dto.setDescription(row.description());
+        dto.setWebsite(row.website());
+        dto.setPhone(row.phone());
+        dto.setProfessionalEmail(row.professionalEmail());
+
+        dto.setUserId(row.userId());
+        dto.setFirstName(row.firstName());
+        dto.setLastName(row.lastName());
+        dto.setEmail(row.email());
+        dto.setTelephone(row.telephone());
+
+        dto.setPublishedInternships(internships);
+        return dto;
+    }
+
     // --- 3. DTO de Requête -> Entity (Request) ---
     /**
      * Convertit le DTO de Requête (CompanyRequest) en Entity Company.
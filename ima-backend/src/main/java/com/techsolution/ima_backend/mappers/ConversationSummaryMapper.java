@@ -0,0 +1,37 @@
+package com.techsolution.ima_backend.mappers;
+
+import com.techsolution.ima_backend.dtos.response.ConversationSummaryResponse;
+import com.techsolution.ima_backend.entities.ConversationSummary;
+
+public final class ConversationSummaryMapper {
+
+    // Taille de la colonne last_message_preview
+    private static final int PREVIEW_LENGTH = 255;
+
+    private ConversationSummaryMapper() {
+        // Constructeur privé
+    }
+
+    public static ConversationSummaryResponse toResponseDto(ConversationSummary entity) {
+        if (entity == null) return null;
+
+        ConversationSummaryResponse dto = new ConversationSummaryResponse();
+        dto.setPeer(MessageMapper.toUserSummaryResponse(entity.getPeer()));
+        dto.setLastMessageId(entity.getLastMessageId());
+        dto.setLastMessagePreview(entity.getLastMessagePreview());
+        dto.setLastMessageAt(entity.getLastMessageAt());
+        dto.setLastSenderId(entity.getLastSenderId());
+        dto.setUnreadCount(entity.getUnreadCount());
+        return dto;
+    }
+
+    // Aperçu du contenu tronqué à la taille de la colonne
+    public static String preview(String content) {
+        if (content == null || content.length() <= PREVIEW_LENGTH) {
+            return content;
+        }
+        // Ne pas couper une paire de substitution (emoji...)
+        int end = Character.isHighSurrogate(content.charAt(PREVIEW_LENGTH - 1)) ? PREVIEW_LENGTH - 1 : PREVIEW_LENGTH;
+        return content.substring(0, end);
+    }
+}
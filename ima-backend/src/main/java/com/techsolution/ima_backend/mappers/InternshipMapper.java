@@ -1,9 +1,12 @@
 package com.techsolution.ima_backend.mappers;
 
 import com.techsolution.ima_backend.dtos.request.InternshipRequest;
+import com.techsolution.ima_backend.dtos.response.CompanySummaryResponse;
 import com.techsolution.ima_backend.dtos.response.InternshipResponse;
 import com.techsolution.ima_backend.dtos.response.InternshipSummaryResponse;
 import com.techsolution.ima_backend.entities.Internship;
+import com.techsolution.ima_backend.repository.projection.InternshipRow;
+import com.techsolution.ima_backend.repository.projection.InternshipSummaryRow;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -106,6 +109,33 @@ public final class InternshipMapper {
         return entity;
     }
 
+    // --- Conversion Projection -> DTO (listes en lecture seule, sans entité) ---
+
+    public static InternshipResponse toResponseDto(InternshipRow row) {
+        InternshipResponse dto = new InternshipResponse();
+        dto.setId(row.id());
+        dto.setTitle(row.title());
+        dto.setDescription(row.description());
+        dto.setCity(row.city());
+        dto.setCountry(row.country());
+        dto.setStartDate(row.startDate());
+        dto.setEndDate(row.endDate());
+        dto.setIsActive(row.isActive());
+        dto.setIsPaid(row.isPaid());
+        dto.setCompany(new CompanySummaryResponse(row.companyId(), row.companyName(), row.companyWebsite()));
+        return dto;
+    }
+
+    public static InternshipSummaryResponse toSummaryResponse(InternshipSummaryRow row) {
+        InternshipSummaryResponse dto = new InternshipSummaryResponse();
+        dto.setId(row.id());
+        dto.setTitle(row.title());
+        dto.setCity(row.city());
+        dto.setCountry(row.country());
+        dto.setCompany(new CompanySummaryResponse(row.companyId(), row.companyName(), row.companyWebsite()));
+        return dto;
+    }
+
     // --- Conversion de Listes ---
 
     /**
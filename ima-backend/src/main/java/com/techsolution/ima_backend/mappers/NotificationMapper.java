@@ -2,7 +2,9 @@ package com.techsolution.ima_backend.mappers;
 
 import com.techsolution.ima_backend.dtos.response.NotificationResponse;
 import com.techsolution.ima_backend.entities.Notification;
+import com.techsolution.ima_backend.entities.NotificationKind;
 import com.techsolution.ima_backend.entities.User;
+import com.techsolution.ima_backend.pagination.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,10 +26,19 @@ public final class NotificationMapper {
         dto.setNotificationDate(entity.getNotificationDate());
         dto.setViewed(entity.isViewed());
         dto.setRelatedUrl(entity.getRelatedUrl());
+        dto.setKind(entity.getKind());
+        dto.setOccurrences(entity.getOccurrences());
+        if (entity.getId() != null && entity.getNotificationDate() != null) {
+            dto.setCursor(cursorOf(entity).encode());
+        }
 
         return dto;
     }
 
+    public static KeysetCursor cursorOf(Notification entity) {
+        return KeysetCursor.of(entity.getNotificationDate(), entity.getId());
+    }
+
     // --- 2. Construction d'une Entity (Utilisation dans la Couche Service) ---
     /**
      * Crée une nouvelle entité Notification à partir des paramètres de service.
@@ -38,8 +49,14 @@ public final class NotificationMapper {
      * @return L'entité Notification prête pour la persistance.
      */
     public static Notification createNewEntity(String message, String relatedUrl, User user) {
+        return createNewEntity(NotificationKind.SYSTEM, message, relatedUrl, user);
+    }
+
+    public static Notification createNewEntity(NotificationKind kind, String message, String relatedUrl, User user) {
 
         Notification entity = new Notification();
+        entity.setKind(kind);
+        entity.setOccurrences(1);
 
         entity.setMessage(message);
         entity.setRelatedUrl(relatedUrl);
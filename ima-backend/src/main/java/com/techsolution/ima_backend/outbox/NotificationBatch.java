@@ -0,0 +1,11 @@
+package com.techsolution.ima_backend.outbox;
+
+import com.techsolution.ima_backend.services.NotificationService.Draft;
+
+import java.util.List;
+
+/**
+ * Notifications à créer, calculées dans la transaction métier et créées par le dispatcher.
+ */
+public record NotificationBatch(List<Draft> drafts) {
+}
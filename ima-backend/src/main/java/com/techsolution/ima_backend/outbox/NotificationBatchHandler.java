@@ -0,0 +1,35 @@
+package com.techsolution.ima_backend.outbox;
+
+import com.techsolution.ima_backend.services.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class NotificationBatchHandler implements OutboxHandler<NotificationBatch> {
+
+    public static final String TYPE = "notification.batch";
+
+    private final NotificationService notificationService;
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public Class<NotificationBatch> payloadType() {
+        return NotificationBatch.class;
+    }
+
+    @Override
+    public void handle(NotificationBatch batch) {
+        notificationService.createSystemNotifications(batch.drafts());
+    }
+
+    // Une relivraison recréerait les notifications ou gonflerait les compteurs des regroupements
+    @Override
+    public boolean transactional() {
+        return true;
+    }
+}
@@ -0,0 +1,224 @@
+package com.techsolution.ima_backend.outbox;
+
+import com.techsolution.ima_backend.entities.OutboxEvent;
+import com.techsolution.ima_backend.events.OutboxEnqueuedEvent;
+import com.techsolution.ima_backend.services.OutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Vide l'outbox par lots sur un thread dédié : les livraisons d'une instance sont séquentielles
+ * (ordre d'écriture conservé) et ne bloquent ni les threads HTTP ni le scheduler partagé.
+ * Le dispatcher est réveillé après chaque commit qui écrit dans l'outbox, et par un passage
+ * planifié qui reprend les nouvelles tentatives et les baux expirés.
+ * Livraison "au moins une fois" : les handlers doivent tolérer les doublons, sauf les handlers
+ * transactionnels dont l'effet est validé avec le retrait de la ligne.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher implements DisposableBean {
+
+    private final OutboxService outboxService;
+    private final JsonMapper jsonMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, OutboxHandler<?>> handlers;
+
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong oldestPendingAgeMs = new AtomicLong();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> lagTimers = new ConcurrentHashMap<>();
+
+    public OutboxDispatcher(
+            OutboxService outboxService,
+            JsonMapper jsonMapper,
+            MeterRegistry meterRegistry,
+            List<OutboxHandler<?>> handlers,
+            @Value("${outbox.batch-size:100}") int batchSize,
+            @Value("${outbox.lease-ms:30000}") long leaseMs,
+            @Value("${outbox.max-attempts:10}") int maxAttempts,
+            @Value("${outbox.backoff.initial-ms:1000}") long initialBackoffMs,
+            @Value("${outbox.backoff.max-ms:300000}") long maxBackoffMs) {
+        this.outboxService = outboxService;
+        this.jsonMapper = jsonMapper;
+        this.meterRegistry = meterRegistry;
+        this.handlers = handlers.stream().collect(Collectors.toMap(OutboxHandler::type, Function.identity()));
+        this.batchSize = batchSize;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+
+        Gauge.builder("outbox.pending", pendingCount, AtomicLong::get)
+                .description("Effets en attente de livraison")
+                .register(meterRegistry);
+        Gauge.builder("outbox.oldest.age", oldestPendingAgeMs, value -> value.get() / 1000.0)
+                .baseUnit("seconds")
+                .description("Âge du plus ancien effet en attente")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    public void onEnqueued(OutboxEnqueuedEvent event) {
+        trigger();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void poll() {
+        trigger();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.metrics-interval-ms:15000}")
+    public void refreshBacklogMetrics() {
+        pendingCount.set(outboxService.countPending());
+        oldestPendingAgeMs.set(outboxService.oldestPendingAge().toMillis());
+    }
+
+    /**
+     * Demande un passage ; un seul passage tourne à la fois, une demande reçue pendant
+     * un passage en relance un autre à la fin.
+     */
+    public void trigger() {
+        pending.set(true);
+        if (running.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drainLoop);
+            } catch (RejectedExecutionException e) {
+                running.set(false); // arrêt en cours
+            }
+        }
+    }
+
+    private void drainLoop() {
+        try {
+            while (pending.getAndSet(false)) {
+                drain();
+            }
+        } catch (RuntimeException e) {
+            log.error("Échec d'un passage de l'outbox", e);
+        } finally {
+            running.set(false);
+        }
+        if (pending.get()) {
+            trigger();
+        }
+    }
+
+    private void drain() {
+        List<OutboxEvent> batch;
+        do {
+            batch = outboxService.claim(batchSize, lease);
+            List<Long> delivered = new ArrayList<>(batch.size());
+            for (OutboxEvent event : batch) {
+                if (deliver(event)) {
+                    delivered.add(event.getId());
+                }
+            }
+            outboxService.markDelivered(delivered);
+        } while (batch.size() == batchSize);
+    }
+
+    // true si la ligne livrée reste à retirer de l'outbox
+    private boolean deliver(OutboxEvent event) {
+        try {
+            OutboxHandler<?> handler = handlers.get(event.getType());
+            if (handler == null) {
+                throw new IllegalStateException("Aucun handler pour le type " + event.getType());
+            }
+            if (handler.transactional()) {
+                if (!outboxService.deliverInTransaction(event.getId(), () -> handle(handler, event.getPayload()))) {
+                    // Déjà livrée par une autre instance (bail expiré) : rien n'a été appliqué ici
+                    counter(event.getType(), "skipped").increment();
+                    log.debug("Effet outbox [{}] de type {} déjà livré ailleurs", event.getId(), event.getType());
+                    return false;
+                }
+            } else {
+                handle(handler, event.getPayload());
+            }
+
+            counter(event.getType(), "delivered").increment();
+            lagTimers.computeIfAbsent(event.getType(), type -> Timer.builder("outbox.lag")
+                            .tag("type", type)
+                            .description("Délai entre l'écriture d'un effet et sa livraison")
+                            .register(meterRegistry))
+                    .record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            // Un handler transactionnel a déjà retiré sa ligne
+            return !handler.transactional();
+        } catch (RuntimeException e) {
+            boolean abandoned = outboxService.markFailed(event, e.toString(), maxAttempts, backoff(event.getAttempts()));
+            counter(event.getType(), abandoned ? "failed" : "retried").increment();
+            if (abandoned) {
+                log.error("Effet outbox [{}] de type {} abandonné après {} tentatives",
+                        event.getId(), event.getType(), event.getAttempts(), e);
+            } else {
+                log.warn("Effet outbox [{}] de type {} en échec (tentative {}) : {}",
+                        event.getId(), event.getType(), event.getAttempts(), e.toString());
+            }
+            return false;
+        }
+    }
+
+    private <T> void handle(OutboxHandler<T> handler, String payload) {
+        handler.handle(jsonMapper.readValue(payload, handler.payloadType()));
+    }
+
+    // Backoff exponentiel plafonné : initial, 2 x initial, 4 x initial...
+    Duration backoff(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration delay = initialBackoff.multipliedBy(1L << exponent);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private Counter counter(String type, String outcome) {
+        return counters.computeIfAbsent(type + '|' + outcome, key -> Counter.builder("outbox.events")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .description("Effets de l'outbox traités, par type et par résultat")
+                .register(meterRegistry));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.techsolution.ima_backend.outbox;
+
+/**
+ * Livraison d'un type d'effet de l'outbox. Doit être idempotente ou tolérer les doublons :
+ * une ligne dont la livraison a réussi peut être relivrée si l'instance s'arrête avant sa suppression.
+ *
+ * @param <T> type du payload JSON enregistré
+ */
+public interface OutboxHandler<T> {
+
+    String type();
+
+    Class<T> payloadType();
+
+    void handle(T payload);
+
+    /**
+     * true pour un effet écrit en base : il est appliqué dans la transaction qui retire la ligne
+     * de l'outbox, et n'est donc jamais appliqué deux fois.
+     */
+    default boolean transactional() {
+        return false;
+    }
+}
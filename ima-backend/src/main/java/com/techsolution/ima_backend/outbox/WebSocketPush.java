@@ -0,0 +1,11 @@
+package com.techsolution.ima_backend.outbox;
+
+/**
+ * Envoi STOMP vers /user/{user}{destination}.
+ *
+ * @param user        nom du principal STOMP (email)
+ * @param destination file utilisateur, ex: /queue/messages
+ * @param payload     contenu sérialisé tel quel en JSON
+ */
+public record WebSocketPush(String user, String destination, Object payload) {
+}
@@ -0,0 +1,33 @@
+package com.techsolution.ima_backend.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Livre les pushes WebSocket enregistrés dans l'outbox. Un utilisateur non connecté
+ * n'est pas une erreur : le message est simplement ignoré par le broker.
+ */
+@Component
+@RequiredArgsConstructor
+public class WebSocketPushHandler implements OutboxHandler<WebSocketPush> {
+
+    public static final String TYPE = "websocket.push";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public Class<WebSocketPush> payloadType() {
+        return WebSocketPush.class;
+    }
+
+    @Override
+    public void handle(WebSocketPush push) {
+        messagingTemplate.convertAndSendToUser(push.user(), push.destination(), push.payload());
+    }
+}
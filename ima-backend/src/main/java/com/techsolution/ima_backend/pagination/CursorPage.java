@@ -0,0 +1,43 @@
+package com.techsolution.ima_backend.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page d'une pagination par curseur : pas de total (aucun count(*)), seulement
+ * le curseur à renvoyer pour obtenir la page suivante.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int MAX_SIZE = 100;
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public static int clampSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+
+    /**
+     * Construit la page à partir de {@code size + 1} lignes lues : la ligne en trop
+     * indique seulement qu'une page suivante existe.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, KeysetCursor> cursorOf,
+                                          Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode() : null;
+
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), nextCursor, hasNext);
+    }
+}
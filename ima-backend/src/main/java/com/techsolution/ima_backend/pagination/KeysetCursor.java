@@ -0,0 +1,87 @@
+package com.techsolution.ima_backend.pagination;
+
+import com.techsolution.ima_backend.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position dans une liste triée par (valeur de tri, id) : la page suivante commence
+ * strictement après cette position. Exposée au client sous forme opaque (base64url),
+ * le client ne fait que renvoyer le curseur reçu.
+ *
+ * @param value valeur de la colonne de tri de la dernière ligne servie
+ * @param id    identifiant de la dernière ligne servie (départage les égalités)
+ */
+public record KeysetCursor(String value, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static KeysetCursor of(LocalDateTime value, Long id) {
+        return new KeysetCursor(value.toString(), id);
+    }
+
+    public static KeysetCursor of(LocalDate value, Long id) {
+        return new KeysetCursor(value.toString(), id);
+    }
+
+    // Tri sur l'identifiant seul : la valeur de tri est l'identifiant lui-même
+    public static KeysetCursor of(Long id) {
+        return new KeysetCursor(id.toString(), id);
+    }
+
+    public static KeysetCursor of(float score, Long id) {
+        return new KeysetCursor(Float.toString(score), id);
+    }
+
+    public float asFloat() {
+        try {
+            return Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Curseur invalide");
+        }
+    }
+
+    public LocalDate asDate() {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Curseur invalide");
+        }
+    }
+
+    public LocalDateTime asDateTime() {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Curseur invalide");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((value + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return le curseur décodé, ou null si aucun curseur n'est fourni (première page).
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new InvalidCursorException("Curseur invalide");
+            }
+            return new KeysetCursor(decoded.substring(0, separator), Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Curseur invalide");
+        }
+    }
+}
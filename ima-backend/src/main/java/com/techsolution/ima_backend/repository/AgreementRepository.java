@@ -1,7 +1,19 @@
 package com.techsolution.ima_backend.repository;
 
 import com.techsolution.ima_backend.entities.Agreement;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface AgreementRepository extends JpaRepository<Agreement, Long> {
+
+    // Liste complète en une requête : candidature et enseignant validateur joints
+    @EntityGraph(attributePaths = {
+            "application",
+            "validator.user.student", "validator.user.company"
+    })
+    @Query("SELECT a FROM Agreement a")
+    List<Agreement> findAllForListing();
 }
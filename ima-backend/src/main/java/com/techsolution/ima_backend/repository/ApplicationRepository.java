@@ -1,7 +1,29 @@
 package com.techsolution.ima_backend.repository;
 
 import com.techsolution.ima_backend.entities.Application;
+import com.techsolution.ima_backend.repository.projection.ApplicationRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface ApplicationRepository extends JpaRepository<Application, Long> {
+
+    // Liste complète en une requête, par projection : aucune entité hydratée ni suivie par le contexte de persistance
+    @Query("""
+        SELECT new com.techsolution.ima_backend.repository.projection.ApplicationRow(
+            a.id, a.applicationDate, a.status, a.cvUrl, a.coverLetter,
+            s.id, su.firstName, su.lastName, su.email, s.level,
+            i.id, i.title, i.city, i.country,
+            c.id, c.name, c.website,
+            ag.id, ag.creationDate, ag.status, ag.documentPdfUrl)
+        FROM Application a
+        JOIN a.student s
+        JOIN s.user su
+        JOIN a.internship i
+        JOIN i.company c
+        LEFT JOIN a.agreement ag
+        ORDER BY a.id
+    """)
+    List<ApplicationRow> findAllRows();
 }
@@ -1,14 +1,27 @@
 package com.techsolution.ima_backend.repository;
 
 import com.techsolution.ima_backend.entities.Company;
+import com.techsolution.ima_backend.repository.projection.CompanyRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CompanyRepository extends JpaRepository<Company, Long> {
     @Query("SELECT c FROM Company c WHERE c.user.id = :userId")
     Optional<Company> findByUserId(@Param("userId") Long userId);
     // OU, si les noms de propriétés sont respectés: Optional<Company> findByUser_Id(Long userId);
+
+    // Liste des entreprises par projection (les offres publiées sont lues par InternshipRepository.findAllSummaryRows)
+    @Query("""
+        SELECT new com.techsolution.ima_backend.repository.projection.CompanyRow(
+            c.id, u.id, u.firstName, u.lastName, u.email, u.telephone,
+            c.name, c.address, c.description, c.website, c.phone, c.professionalEmail)
+        FROM Company c
+        JOIN c.user u
+        ORDER BY c.id
+    """)
+    List<CompanyRow> findAllRows();
 }
@@ -0,0 +1,133 @@
+package com.techsolution.ima_backend.repository;
+
+import com.techsolution.ima_backend.entities.ConversationSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ConversationSummaryRepository extends JpaRepository<ConversationSummary, Long> {
+
+    // Boîte de réception (première page), via l'index (owner_id, last_message_at, id)
+    @Query("""
+        SELECT s FROM ConversationSummary s
+        JOIN FETCH s.peer
+        WHERE s.owner.id = :ownerId
+        ORDER BY s.lastMessageAt DESC, s.id DESC
+    """)
+    List<ConversationSummary> findInboxHead(@Param("ownerId") Long ownerId, Limit limit);
+
+    @Query("""
+        SELECT s FROM ConversationSummary s
+        JOIN FETCH s.peer
+        WHERE s.owner.id = :ownerId
+          AND (s.lastMessageAt < :lastMessageAt OR (s.lastMessageAt = :lastMessageAt AND s.id < :id))
+        ORDER BY s.lastMessageAt DESC, s.id DESC
+    """)
+    List<ConversationSummary> findInboxBefore(@Param("ownerId") Long ownerId,
+                                              @Param("lastMessageAt") LocalDateTime lastMessageAt,
+                                              @Param("id") Long id,
+                                              Limit limit);
+
+    // Une conversation existe-t-elle entre les deux utilisateurs ? (index unique owner_id, peer_id)
+    boolean existsByOwnerIdAndPeerId(Long ownerId, Long peerId);
+
+    /**
+     * Création ou mise à jour atomique de la ligne (owner, peer) pour un nouveau message.
+     * {@code unreadIncrement} vaut 1 pour le destinataire, 0 pour l'expéditeur.
+     * Un message plus ancien que le dernier connu (commits concurrents dans le désordre)
+     * compte comme non-lu sans remplacer l'aperçu. last_message_at est affecté en dernier :
+     * MySQL évalue les affectations dans l'ordre et les gardes doivent lire l'ancienne valeur.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO conversation_summary
+            (owner_id, peer_id, last_message_id, last_message_preview, last_message_at, last_sender_id, unread_count)
+        VALUES (:ownerId, :peerId, :messageId, :preview, :sentAt, :senderId, :unreadIncrement)
+        ON DUPLICATE KEY UPDATE
+            last_message_id = CASE WHEN VALUES(last_message_at) >= last_message_at
+                THEN VALUES(last_message_id) ELSE last_message_id END,
+            last_message_preview = CASE WHEN VALUES(last_message_at) >= last_message_at
+                THEN VALUES(last_message_preview) ELSE last_message_preview END,
+            last_sender_id = CASE WHEN VALUES(last_message_at) >= last_message_at
+                THEN VALUES(last_sender_id) ELSE last_sender_id END,
+            unread_count = unread_count + VALUES(unread_count),
+            last_message_at = CASE WHEN VALUES(last_message_at) >= last_message_at
+                THEN VALUES(last_message_at) ELSE last_message_at END
+    """, nativeQuery = true)
+    int upsertLastMessage(@Param("ownerId") Long ownerId,
+                          @Param("peerId") Long peerId,
+                          @Param("messageId") Long messageId,
+                          @Param("preview") String preview,
+                          @Param("sentAt") LocalDateTime sentAt,
+                          @Param("senderId") Long senderId,
+                          @Param("unreadIncrement") int unreadIncrement);
+
+    // Remplace le dernier message des deux lignes de la conversation
+    @Modifying
+    @Query("""
+        UPDATE ConversationSummary s
+        SET s.lastMessageId = :messageId, s.lastMessagePreview = :preview,
+            s.lastMessageAt = :sentAt, s.lastSenderId = :senderId
+        WHERE (s.owner.id = :userA AND s.peer.id = :userB) OR (s.owner.id = :userB AND s.peer.id = :userA)
+    """)
+    int updateLastMessage(@Param("userA") Long userA,
+                          @Param("userB") Long userB,
+                          @Param("messageId") Long messageId,
+                          @Param("preview") String preview,
+                          @Param("sentAt") LocalDateTime sentAt,
+                          @Param("senderId") Long senderId);
+
+    // Met à jour l'aperçu si le message modifié est le dernier de la conversation
+    @Modifying
+    @Query("""
+        UPDATE ConversationSummary s SET s.lastMessagePreview = :preview
+        WHERE ((s.owner.id = :userA AND s.peer.id = :userB) OR (s.owner.id = :userB AND s.peer.id = :userA))
+          AND s.lastMessageId = :messageId
+    """)
+    int updatePreview(@Param("userA") Long userA,
+                      @Param("userB") Long userB,
+                      @Param("messageId") Long messageId,
+                      @Param("preview") String preview);
+
+    @Modifying
+    @Query("""
+        UPDATE ConversationSummary s
+        SET s.unreadCount = CASE WHEN s.unreadCount > :count THEN s.unreadCount - :count ELSE 0 END
+        WHERE s.owner.id = :ownerId AND s.peer.id = :peerId
+    """)
+    int decrementUnread(@Param("ownerId") Long ownerId, @Param("peerId") Long peerId, @Param("count") int count);
+
+    @Modifying
+    @Query("""
+        DELETE FROM ConversationSummary s
+        WHERE (s.owner.id = :userA AND s.peer.id = :userB) OR (s.owner.id = :userB AND s.peer.id = :userA)
+    """)
+    int deleteConversation(@Param("userA") Long userA, @Param("userB") Long userB);
+
+    /**
+     * Reconstruit la vue à partir de la table messages (données antérieures à son introduction).
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO conversation_summary
+            (owner_id, peer_id, last_message_id, last_message_preview, last_message_at, last_sender_id, unread_count)
+        SELECT p.owner_id, p.peer_id, m.id, LEFT(m.content, 255), m.sent_date, m.sender_id,
+               (SELECT COUNT(*) FROM messages u
+                WHERE u.recipient_id = p.owner_id AND u.sender_id = p.peer_id AND u.is_read = false)
+        FROM (SELECT sender_id AS owner_id, recipient_id AS peer_id FROM messages
+              UNION
+              SELECT recipient_id, sender_id FROM messages) p
+        JOIN messages m ON m.id = (
+              SELECT m2.id FROM messages m2
+              WHERE (m2.sender_id = p.owner_id AND m2.recipient_id = p.peer_id)
+                 OR (m2.sender_id = p.peer_id AND m2.recipient_id = p.owner_id)
+              ORDER BY m2.sent_date DESC, m2.id DESC
+              LIMIT 1)
+    """, nativeQuery = true)
+    int rebuildFromMessages();
+}
@@ -1,10 +1,63 @@
 package com.techsolution.ima_backend.repository;
 
 import com.techsolution.ima_backend.entities.Internship;
+import com.techsolution.ima_backend.repository.projection.InternshipRow;
+import com.techsolution.ima_backend.repository.projection.InternshipSummaryRow;
+import com.techsolution.ima_backend.search.InternshipDocument;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface InternshipRepository extends JpaRepository<Internship, Long> {
-    List<Internship> findByIsActiveTrue(); // Pour la liste des offres publiques
+// JpaSpecificationExecutor : recherche filtrée (voir InternshipSpecifications)
+public interface InternshipRepository extends JpaRepository<Internship, Long>, JpaSpecificationExecutor<Internship> {
+
+    // Catalogue des offres actives par projection : aucune entité hydratée ni suivie par le contexte de persistance
+    @Query("""
+        SELECT new com.techsolution.ima_backend.repository.projection.InternshipRow(
+            i.id, i.title, i.description, i.city, i.country, i.startDate, i.endDate, i.isActive, i.isPaid,
+            c.id, c.name, c.website)
+        FROM Internship i
+        JOIN i.company c
+        WHERE i.isActive = true
+    """)
+    List<InternshipRow> findActiveRows();
+
+    // Résumés de toutes les offres, regroupés ensuite par entreprise (liste des entreprises)
+    @Query("""
+        SELECT new com.techsolution.ima_backend.repository.projection.InternshipSummaryRow(
+            i.id, i.title, i.city, i.country, c.id, c.name, c.website)
+        FROM Internship i
+        JOIN i.company c
+        ORDER BY i.id
+    """)
+    List<InternshipSummaryRow> findAllSummaryRows();
+
+    @Query("SELECT i FROM Internship i JOIN FETCH i.company WHERE i.id IN :ids")
+    List<Internship> findAllWithCompanyByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Lot d'offres actives pour la reconstruction de l'index de recherche (parcours par id)
+    @Query("""
+        SELECT new com.techsolution.ima_backend.search.InternshipDocument(
+            i.id, i.title, i.description, i.city, i.country, i.isPaid, c.name)
+        FROM Internship i
+        JOIN i.company c
+        WHERE i.isActive = true AND i.id > :afterId
+        ORDER BY i.id
+    """)
+    List<InternshipDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Offres actives d'une entreprise, à réindexer quand son nom change
+    @Query("""
+        SELECT new com.techsolution.ima_backend.search.InternshipDocument(
+            i.id, i.title, i.description, i.city, i.country, i.isPaid, c.name)
+        FROM Internship i
+        JOIN i.company c
+        WHERE i.isActive = true AND c.id = :companyId
+    """)
+    List<InternshipDocument> findSearchDocumentsByCompanyId(@Param("companyId") Long companyId);
 }
@@ -0,0 +1,104 @@
+package com.techsolution.ima_backend.repository;
+
+import com.techsolution.ima_backend.dtos.request.InternshipSearchRequest;
+import com.techsolution.ima_backend.dtos.request.InternshipSort;
+import com.techsolution.ima_backend.entities.Internship;
+import com.techsolution.ima_backend.pagination.KeysetCursor;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Critères de la recherche d'offres. Les prédicats suivent l'ordre des colonnes des index
+ * (is_active, country, city, start_date) et (is_active, start_date, id) ; les comparaisons
+ * restent des égalités/plages directes sur les colonnes pour que les index soient utilisables.
+ */
+public final class InternshipSpecifications {
+
+    private InternshipSpecifications() {
+        // Constructeur privé
+    }
+
+    public static Specification<Internship> search(InternshipSearchRequest criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isTrue(root.<Boolean>get("isActive")));
+
+            if (StringUtils.hasText(criteria.getCountry())) {
+                predicates.add(cb.equal(root.get("country"), criteria.getCountry().trim()));
+            }
+            if (StringUtils.hasText(criteria.getCity())) {
+                predicates.add(cb.equal(root.get("city"), criteria.getCity().trim()));
+            }
+            if (criteria.getIsPaid() != null) {
+                predicates.add(cb.equal(root.get("isPaid"), criteria.getIsPaid()));
+            }
+            if (criteria.getStartFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.<LocalDate>get("startDate"), criteria.getStartFrom()));
+            }
+            if (criteria.getStartTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.<LocalDate>get("startDate"), criteria.getStartTo()));
+            }
+            if (sortsOnStartDate(criteria.getSort())) {
+                predicates.add(cb.isNotNull(root.get("startDate")));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Lignes strictement après le curseur dans l'ordre de tri demandé.
+     */
+    public static Specification<Internship> after(InternshipSort sort, KeysetCursor cursor) {
+        return (root, query, cb) -> switch (sort) {
+            case START_DATE_ASC -> {
+                LocalDate startDate = cursor.asDate();
+                yield cb.or(
+                        cb.greaterThan(root.<LocalDate>get("startDate"), startDate),
+                        cb.and(cb.equal(root.get("startDate"), startDate), cb.greaterThan(root.<Long>get("id"), cursor.id())));
+            }
+            case START_DATE_DESC -> {
+                LocalDate startDate = cursor.asDate();
+                yield cb.or(
+                        cb.lessThan(root.<LocalDate>get("startDate"), startDate),
+                        cb.and(cb.equal(root.get("startDate"), startDate), cb.lessThan(root.<Long>get("id"), cursor.id())));
+            }
+            case NEWEST -> cb.lessThan(root.<Long>get("id"), cursor.id());
+        };
+    }
+
+    /**
+     * Charge l'entreprise dans la même requête au lieu d'une requête par offre.
+     */
+    public static Specification<Internship> fetchCompany() {
+        return (root, query, cb) -> {
+            if (query != null && !Long.class.equals(query.getResultType())) {
+                root.fetch("company");
+            }
+            return null;
+        };
+    }
+
+    public static Sort sortOf(InternshipSort sort) {
+        return switch (sort) {
+            case START_DATE_ASC -> Sort.by(Sort.Order.asc("startDate"), Sort.Order.asc("id"));
+            case START_DATE_DESC -> Sort.by(Sort.Order.desc("startDate"), Sort.Order.desc("id"));
+            case NEWEST -> Sort.by(Sort.Order.desc("id"));
+        };
+    }
+
+    public static KeysetCursor cursorOf(InternshipSort sort, Internship internship) {
+        return sort == InternshipSort.NEWEST
+                ? KeysetCursor.of(internship.getId())
+                : KeysetCursor.of(internship.getStartDate(), internship.getId());
+    }
+
+    private static boolean sortsOnStartDate(InternshipSort sort) {
+        return sort == InternshipSort.START_DATE_ASC || sort == InternshipSort.START_DATE_DESC;
+    }
+}
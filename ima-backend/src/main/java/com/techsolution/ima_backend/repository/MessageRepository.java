@@ -1,7 +1,75 @@
 package com.techsolution.ima_backend.repository;
 
 import com.techsolution.ima_backend.entities.Message;
+import com.techsolution.ima_backend.search.MessageDocument;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
+
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender JOIN FETCH m.recipient WHERE m.id IN :ids")
+    List<Message> findAllWithParticipantsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Lot de messages pour la reconstruction de l'index de recherche (parcours par id)
+    @Query("""
+        SELECT new com.techsolution.ima_backend.search.MessageDocument(
+            m.id, m.sender.id, m.recipient.id, m.sentDate, m.content)
+        FROM Message m
+        WHERE m.id > :afterId
+        ORDER BY m.id
+    """)
+    List<MessageDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Messages les plus récents d'un sens de conversation (première page)
+    @Query("""
+        SELECT m FROM Message m
+        JOIN FETCH m.sender
+        JOIN FETCH m.recipient
+        WHERE m.sender.id = :senderId AND m.recipient.id = :recipientId
+        ORDER BY m.sentDate DESC, m.id DESC
+    """)
+    List<Message> findConversationHead(@Param("senderId") Long senderId,
+                                       @Param("recipientId") Long recipientId,
+                                       Limit limit);
+
+    // Messages strictement antérieurs au curseur (sentDate, id)
+    @Query("""
+        SELECT m FROM Message m
+        JOIN FETCH m.sender
+        JOIN FETCH m.recipient
+        WHERE m.sender.id = :senderId AND m.recipient.id = :recipientId
+          AND (m.sentDate < :sentDate OR (m.sentDate = :sentDate AND m.id < :id))
+        ORDER BY m.sentDate DESC, m.id DESC
+    """)
+    List<Message> findConversationBefore(@Param("senderId") Long senderId,
+                                         @Param("recipientId") Long recipientId,
+                                         @Param("sentDate") LocalDateTime sentDate,
+                                         @Param("id") Long id,
+                                         Limit limit);
+
+    // Marque comme lus, en une requête, les messages reçus de l'expéditeur jusqu'au curseur (sentDate, id) inclus
+    @Modifying
+    @Query("""
+        UPDATE Message m SET m.isRead = true
+        WHERE m.sender.id = :senderId AND m.recipient.id = :recipientId AND m.isRead = false
+          AND (m.sentDate < :sentDate OR (m.sentDate = :sentDate AND m.id <= :id))
+    """)
+    int markReadUpTo(@Param("senderId") Long senderId,
+                     @Param("recipientId") Long recipientId,
+                     @Param("sentDate") LocalDateTime sentDate,
+                     @Param("id") Long id);
+
+    @Modifying
+    @Query("""
+        UPDATE Message m SET m.isRead = true
+        WHERE m.sender.id = :senderId AND m.recipient.id = :recipientId AND m.isRead = false
+    """)
+    int markAllRead(@Param("senderId") Long senderId, @Param("recipientId") Long recipientId);
 }
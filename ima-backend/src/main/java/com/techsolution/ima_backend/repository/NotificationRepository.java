@@ -1,7 +1,166 @@
 package com.techsolution.ima_backend.repository;
 
 import com.techsolution.ima_backend.entities.Notification;
+import com.techsolution.ima_backend.entities.NotificationKind;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    // Fil de l'utilisateur (première page), via l'index (user_id, notification_date, id)
+    @Query("""
+        SELECT n FROM Notification n
+        WHERE n.user.id = :userId
+        ORDER BY n.notificationDate DESC, n.id DESC
+    """)
+    List<Notification> findFeedHead(@Param("userId") Long userId, Limit limit);
+
+    @Query("""
+        SELECT n FROM Notification n
+        WHERE n.user.id = :userId
+          AND (n.notificationDate < :notificationDate OR (n.notificationDate = :notificationDate AND n.id < :id))
+        ORDER BY n.notificationDate DESC, n.id DESC
+    """)
+    List<Notification> findFeedBefore(@Param("userId") Long userId,
+                                      @Param("notificationDate") LocalDateTime notificationDate,
+                                      @Param("id") Long id,
+                                      Limit limit);
+
+    // Rattrapage après reconnexion : notifications strictement plus récentes que le curseur, en ordre chronologique
+    @Query("""
+        SELECT n FROM Notification n
+        WHERE n.user.id = :userId
+          AND (n.notificationDate > :notificationDate OR (n.notificationDate = :notificationDate AND n.id > :id))
+        ORDER BY n.notificationDate ASC, n.id ASC
+    """)
+    List<Notification> findFeedAfter(@Param("userId") Long userId,
+                                     @Param("notificationDate") LocalDateTime notificationDate,
+                                     @Param("id") Long id,
+                                     Limit limit);
+
+    // Notification non vue à laquelle regrouper un nouvel événement (même nature, même ressource, fenêtre récente)
+    @Query("""
+        SELECT n FROM Notification n
+        WHERE n.user.id = :userId
+          AND n.isViewed = false
+          AND n.notificationDate >= :since
+          AND n.kind = :kind
+          AND n.relatedUrl = :relatedUrl
+        ORDER BY n.notificationDate DESC, n.id DESC
+    """)
+    List<Notification> findCoalescable(@Param("userId") Long userId,
+                                       @Param("kind") NotificationKind kind,
+                                       @Param("relatedUrl") String relatedUrl,
+                                       @Param("since") LocalDateTime since,
+                                       Limit limit);
+
+    // Rétention : premier lot de notifications expirées dans un état donné, via l'index (is_viewed, notification_date, id)
+    @Query("""
+        SELECT n.id AS id, n.notificationDate AS notificationDate FROM Notification n
+        WHERE n.isViewed = :viewed
+          AND n.notificationDate < :cutoff
+        ORDER BY n.notificationDate ASC, n.id ASC
+    """)
+    List<RetentionKey> findExpiredHead(@Param("viewed") boolean viewed,
+                                       @Param("cutoff") LocalDateTime cutoff,
+                                       Limit limit);
+
+    // Lot suivant, strictement après le curseur (date, id) du lot précédent
+    @Query("""
+        SELECT n.id AS id, n.notificationDate AS notificationDate FROM Notification n
+        WHERE n.isViewed = :viewed
+          AND n.notificationDate < :cutoff
+          AND (n.notificationDate > :afterDate OR (n.notificationDate = :afterDate AND n.id > :afterId))
+        ORDER BY n.notificationDate ASC, n.id ASC
+    """)
+    List<RetentionKey> findExpiredAfter(@Param("viewed") boolean viewed,
+                                        @Param("cutoff") LocalDateTime cutoff,
+                                        @Param("afterDate") LocalDateTime afterDate,
+                                        @Param("afterId") Long afterId,
+                                        Limit limit);
+
+    // Copie idempotente dans l'archive (INSERT IGNORE : une ligne déjà archivée est conservée telle quelle)
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO notifications_archive
+            (id, user_id, message, notification_date, is_viewed, related_url, kind, occurrences, archived_at)
+        SELECT id, user_id, message, notification_date, is_viewed, related_url, kind, occurrences, :archivedAt
+        FROM notifications
+        WHERE id IN (:ids) AND is_viewed = :viewed AND notification_date < :cutoff
+    """, nativeQuery = true)
+    int archiveByIds(@Param("ids") Collection<Long> ids,
+                     @Param("viewed") boolean viewed,
+                     @Param("cutoff") LocalDateTime cutoff,
+                     @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Le critère de rétention est revérifié : une notification vue (ou regroupée) depuis la lecture du lot est conservée
+    @Modifying
+    @Query("""
+        DELETE FROM Notification n
+        WHERE n.id IN :ids AND n.isViewed = :viewed AND n.notificationDate < :cutoff
+    """)
+    int deleteByIds(@Param("ids") Collection<Long> ids,
+                    @Param("viewed") boolean viewed,
+                    @Param("cutoff") LocalDateTime cutoff);
+
+    // Opérations groupées de l'utilisateur : un seul UPDATE/DELETE, toujours restreint à ses notifications
+    @Modifying
+    @Query("""
+        UPDATE Notification n SET n.isViewed = true, n.isRead = true
+        WHERE n.user.id = :userId AND n.isViewed = false AND n.id IN :ids
+    """)
+    int markViewedByIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+        UPDATE Notification n SET n.isViewed = true, n.isRead = true
+        WHERE n.user.id = :userId AND n.isViewed = false
+          AND (n.notificationDate < :notificationDate OR (n.notificationDate = :notificationDate AND n.id <= :id))
+    """)
+    int markViewedUpTo(@Param("userId") Long userId,
+                       @Param("notificationDate") LocalDateTime notificationDate,
+                       @Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isViewed = true, n.isRead = true WHERE n.user.id = :userId AND n.isViewed = false")
+    int markAllViewed(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.user.id = :userId AND n.id IN :ids")
+    int deleteOwnedByIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+        DELETE FROM Notification n
+        WHERE n.user.id = :userId
+          AND (n.notificationDate < :notificationDate OR (n.notificationDate = :notificationDate AND n.id <= :id))
+    """)
+    int deleteOwnedUpTo(@Param("userId") Long userId,
+                        @Param("notificationDate") LocalDateTime notificationDate,
+                        @Param("id") Long id);
+
+    // Compteur de la barre de navigation : couvert par l'index (user_id, is_viewed, notification_date)
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.isViewed = false")
+    long countUnviewedByUserId(@Param("userId") Long userId);
+
+    List<Notification> findAllByUserIdOrderByNotificationDateDescIdDesc(Long userId);
+
+    // Notifications antérieures à la colonne kind (NULL) : nature attribuée une fois pour toutes
+    @Modifying
+    @Query("UPDATE Notification n SET n.kind = :kind WHERE n.kind IS NULL")
+    int assignMissingKind(@Param("kind") NotificationKind kind);
+
+    // Position d'une notification dans le parcours de rétention
+    interface RetentionKey {
+        Long getId();
+
+        LocalDateTime getNotificationDate();
+    }
 }
@@ -0,0 +1,57 @@
+package com.techsolution.ima_backend.repository;
+
+import com.techsolution.ima_backend.entities.OutboxEvent;
+import com.techsolution.ima_backend.entities.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Verrouille les prochaines lignes livrables ; les lignes déjà verrouillées par une autre
+     * instance sont sautées (SKIP LOCKED, MySQL 8+) au lieu d'être attendues.
+     */
+    @Query(value = """
+        SELECT id FROM outbox
+        WHERE status = 'PENDING' AND available_at <= :now
+        ORDER BY available_at, id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<Long> lockAvailableIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Bail de livraison : les lignes réclamées ne redeviennent livrables qu'à son expiration
+    @Modifying
+    @Query("""
+        UPDATE OutboxEvent e SET e.availableAt = :leaseUntil, e.attempts = e.attempts + 1
+        WHERE e.id IN :ids
+    """)
+    int lease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    List<OutboxEvent> findAllByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteDelivered(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+        UPDATE OutboxEvent e SET e.status = :status, e.availableAt = :availableAt, e.lastError = :lastError
+        WHERE e.id = :id
+    """)
+    int reschedule(@Param("id") Long id,
+                   @Param("status") OutboxStatus status,
+                   @Param("availableAt") LocalDateTime availableAt,
+                   @Param("lastError") String lastError);
+
+    long countByStatus(OutboxStatus status);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.status = :status")
+    LocalDateTime findOldestCreatedAtByStatus(@Param("status") OutboxStatus status);
+}
@@ -1,11 +1,19 @@
 package com.techsolution.ima_backend.repository;
 
 import com.techsolution.ima_backend.entities.Student;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByUserId(Long userId);
 
+    // Liste complète en une requête : utilisateur et candidatures (avec leur convention) joints
+    @EntityGraph(attributePaths = {"user.company", "user.teacher", "applications.agreement"})
+    @Query("SELECT s FROM Student s")
+    List<Student> findAllForListing();
+
 }
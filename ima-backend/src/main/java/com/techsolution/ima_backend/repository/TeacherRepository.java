@@ -1,10 +1,18 @@
 package com.techsolution.ima_backend.repository;
 
 import com.techsolution.ima_backend.entities.Teacher;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface TeacherRepository extends JpaRepository<Teacher,Long> {
     Optional<Teacher> findByUserId(Long userId);
+
+    // Liste complète en une requête : utilisateur et conventions validées joints
+    @EntityGraph(attributePaths = {"user.student", "user.company", "validatedAgreements"})
+    @Query("SELECT t FROM Teacher t")
+    List<Teacher> findAllForListing();
 }
@@ -1,18 +1,32 @@
 package com.techsolution.ima_backend.repository;
 
 import com.techsolution.ima_backend.entities.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
+    // Liste complète en une requête : rôles et profils (OneToOne inverses, jamais différés) joints
+    @EntityGraph(attributePaths = {"roles", "student", "company", "teacher"})
+    @Query("SELECT u FROM User u")
+    List<User> findAllForListing();
+
     Optional<User> findById(Long userId);
 
+    // Verrouille les destinataires (SELECT ... FOR UPDATE, ordre des id pour éviter les interblocages)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id IN :ids ORDER BY u.id")
+    List<User> lockAllByIdIn(@Param("ids") Collection<Long> ids);
+
     Optional<User> findByEmailIgnoreCase(String email);
 
     Optional<User> findFirstByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
@@ -0,0 +1,35 @@
+package com.techsolution.ima_backend.repository.projection;
+
+import com.techsolution.ima_backend.entities.AgreementStatus;
+import com.techsolution.ima_backend.entities.ApplicationStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Candidature lue par projection JPQL, avec les résumés de l'étudiant, de l'offre (et son entreprise)
+ * et de la convention (sans son validateur, comme le résumé de convention). Les colonnes de convention sont nulles sans convention.
+ */
+public record ApplicationRow(
+        Long id,
+        LocalDate applicationDate,
+        ApplicationStatus status,
+        String cvUrl,
+        String coverLetter,
+        Long studentId,
+        String studentFirstName,
+        String studentLastName,
+        String studentEmail,
+        String studentLevel,
+        Long internshipId,
+        String internshipTitle,
+        String internshipCity,
+        String internshipCountry,
+        Long companyId,
+        String companyName,
+        String companyWebsite,
+        Long agreementId,
+        LocalDate agreementCreationDate,
+        AgreementStatus agreementStatus,
+        String agreementDocumentPdfUrl
+) {
+}
@@ -0,0 +1,20 @@
+package com.techsolution.ima_backend.repository.projection;
+
+/**
+ * Entreprise et son compte utilisateur lus par projection JPQL ; les offres publiées sont lues à part.
+ */
+public record CompanyRow(
+        Long id,
+        Long userId,
+        String firstName,
+        String lastName,
+        String email,
+        String telephone,
+        String name,
+        String address,
+        String description,
+        String website,
+        String phone,
+        String professionalEmail
+) {
+}
@@ -0,0 +1,22 @@
+package com.techsolution.ima_backend.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Ligne de liste d'offres lue par projection JPQL (select new) : aucune entité chargée ni suivie.
+ */
+public record InternshipRow(
+        Long id,
+        String title,
+        String description,
+        String city,
+        String country,
+        LocalDate startDate,
+        LocalDate endDate,
+        Boolean isActive,
+        Boolean isPaid,
+        Long companyId,
+        String companyName,
+        String companyWebsite
+) {
+}
@@ -0,0 +1,15 @@
+package com.techsolution.ima_backend.repository.projection;
+
+/**
+ * Résumé d'offre (avec son entreprise) lu par projection JPQL.
+ */
+public record InternshipSummaryRow(
+        Long id,
+        String title,
+        String city,
+        String country,
+        Long companyId,
+        String companyName,
+        String companyWebsite
+) {
+}
@@ -0,0 +1,15 @@
+package com.techsolution.ima_backend.search;
+
+/**
+ * Données d'une offre nécessaires à l'index, copiées avant la fin de la transaction.
+ */
+public record InternshipDocument(
+        Long id,
+        String title,
+        String description,
+        String city,
+        String country,
+        Boolean isPaid,
+        String companyName
+) {
+}
@@ -0,0 +1,4 @@
+package com.techsolution.ima_backend.search;
+
+public record InternshipSearchHit(long internshipId, float score) {
+}
@@ -0,0 +1,281 @@
+package com.techsolution.ima_backend.search;
+
+import com.techsolution.ima_backend.pagination.KeysetCursor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollectorManager;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Index plein texte des offres de stage actives (Lucene, analyse française).
+ * Titre, description, ville, pays et nom de l'entreprise sont interrogés ensemble, le titre
+ * et l'entreprise pesant davantage ; tri par pertinence (BM25) puis id décroissant.
+ * Les facettes pays / ville / rémunération sont comptées sur le même parcours que les résultats.
+ * Les offres désactivées sont retirées de l'index.
+ */
+@Component
+public class InternshipSearchIndex {
+
+    public static final String DIM_COUNTRY = "country";
+    public static final String DIM_CITY = "city";
+    public static final String DIM_PAID = "paid";
+
+    static final String FIELD_ID = "id";
+    static final String FIELD_ID_SORT = "id_sort";
+    static final String FIELD_TITLE = "title";
+    static final String FIELD_DESCRIPTION = "description";
+    static final String FIELD_CITY = "city";
+    static final String FIELD_COUNTRY = "country";
+    static final String FIELD_COMPANY = "company";
+    // Valeurs exactes pour les filtres (mêmes valeurs que les facettes renvoyées au client)
+    static final String FIELD_CITY_EXACT = "city_exact";
+    static final String FIELD_COUNTRY_EXACT = "country_exact";
+    static final String FIELD_PAID_EXACT = "paid_exact";
+
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(
+            FIELD_TITLE, 3f,
+            FIELD_COMPANY, 2f,
+            FIELD_DESCRIPTION, 1f,
+            FIELD_CITY, 1f,
+            FIELD_COUNTRY, 1f
+    );
+
+    private static final Sort RELEVANCE_THEN_NEWEST = new Sort(
+            SortField.FIELD_SCORE,
+            new SortField(FIELD_ID_SORT, SortField.Type.LONG, true)
+    );
+
+    private static final int MAX_FACET_VALUES = 20;
+
+    private final Analyzer analyzer = new FrenchAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+
+    @Value("${search.index.dir:./data/search-index}")
+    private Path indexDir;
+
+    private LuceneIndex index;
+
+    // État des facettes (table des ordinaux) du lecteur courant, recalculé après chaque rafraîchissement
+    private volatile FacetState facetState;
+
+    @PostConstruct
+    void open() {
+        this.index = new LuceneIndex(indexDir.resolve("internships"), analyzer);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        index.close();
+    }
+
+    public void index(InternshipDocument internship) {
+        index.update(idTerm(internship.id()), toDocument(internship));
+    }
+
+    private Document toDocument(InternshipDocument internship) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, internship.id().toString(), Field.Store.YES));
+        document.add(new NumericDocValuesField(FIELD_ID_SORT, internship.id()));
+        addText(document, FIELD_TITLE, internship.title());
+        addText(document, FIELD_DESCRIPTION, internship.description());
+        addText(document, FIELD_COMPANY, internship.companyName());
+        addText(document, FIELD_CITY, internship.city());
+        addText(document, FIELD_COUNTRY, internship.country());
+
+        if (hasText(internship.city())) {
+            document.add(new StringField(FIELD_CITY_EXACT, internship.city(), Field.Store.NO));
+            document.add(new SortedSetDocValuesFacetField(DIM_CITY, internship.city()));
+        }
+        if (hasText(internship.country())) {
+            document.add(new StringField(FIELD_COUNTRY_EXACT, internship.country(), Field.Store.NO));
+            document.add(new SortedSetDocValuesFacetField(DIM_COUNTRY, internship.country()));
+        }
+        String paid = Boolean.toString(Boolean.TRUE.equals(internship.isPaid()));
+        document.add(new StringField(FIELD_PAID_EXACT, paid, Field.Store.NO));
+        document.add(new SortedSetDocValuesFacetField(DIM_PAID, paid));
+
+        try {
+            return facetsConfig.build(document);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Document d'offre invalide: " + internship.id(), e);
+        }
+    }
+
+    public void delete(Long internshipId) {
+        index.delete(idTerm(internshipId));
+    }
+
+    /**
+     * Remplace tout le contenu de l'index par les documents fournis à {@code source} ;
+     * les recherches servent l'ancien contenu jusqu'à la fin du remplissage.
+     */
+    public void rebuild(Consumer<Consumer<InternshipDocument>> source) {
+        index.rebuild(sink -> source.accept(internship -> sink.add(idTerm(internship.id()), toDocument(internship))));
+    }
+
+    public int size() {
+        return index.numDocs();
+    }
+
+    /**
+     * @param text  texte recherché ; vide pour parcourir toutes les offres (facettes comprises)
+     * @param after dernière position servie (score, id), null pour la première page
+     * @param limit nombre maximum de résultats
+     */
+    public InternshipSearchResult search(String text, String country, String city, Boolean isPaid,
+                                         KeysetCursor after, int limit) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        Query textQuery = null;
+        if (hasText(text)) {
+            SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+            parser.setDefaultOperator(BooleanClause.Occur.MUST);
+            textQuery = parser.parse(text);
+            if (textQuery == null) {
+                return new InternshipSearchResult(List.of(), 0, Map.of()); // uniquement des mots vides
+            }
+        }
+        builder.add(textQuery != null ? textQuery : new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        addFilter(builder, FIELD_COUNTRY_EXACT, country);
+        addFilter(builder, FIELD_CITY_EXACT, city);
+        addFilter(builder, FIELD_PAID_EXACT, isPaid != null ? isPaid.toString() : null);
+        Query query = builder.build();
+
+        return index.search(searcher -> {
+            FacetsCollectorManager.FacetsResult result = after == null
+                    ? FacetsCollectorManager.search(searcher, query, limit, RELEVANCE_THEN_NEWEST, true,
+                    new FacetsCollectorManager())
+                    : FacetsCollectorManager.searchAfter(searcher, toFieldDoc(after, searcher.getIndexReader().maxDoc()),
+                    query, limit, RELEVANCE_THEN_NEWEST, true, new FacetsCollectorManager());
+
+            TopDocs topDocs = result.topDocs();
+            List<InternshipSearchHit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                long id = Long.parseLong(searcher.storedFields().document(scoreDoc.doc).get(FIELD_ID));
+                hits.add(new InternshipSearchHit(id, scoreDoc.score));
+            }
+
+            Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+            SortedSetDocValuesReaderState state = facetState(searcher);
+            if (state != null) {
+                Facets counts = new SortedSetDocValuesFacetCounts(state, result.facetsCollector());
+                for (String dimension : List.of(DIM_COUNTRY, DIM_CITY, DIM_PAID)) {
+                    facets.put(dimension, toMap(counts, dimension));
+                }
+            }
+            return new InternshipSearchResult(hits, topDocs.totalHits.value, facets);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.refresh-interval-ms:1000}")
+    public void refresh() {
+        index.refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.commit-interval-ms:30000}")
+    public void commit() {
+        index.commit();
+    }
+
+    /**
+     * La table des ordinaux est coûteuse à construire : elle n'est recalculée
+     * que lorsque le lecteur change (après un rafraîchissement de l'index).
+     */
+    private SortedSetDocValuesReaderState facetState(IndexSearcher searcher) throws IOException {
+        IndexReader reader = searcher.getIndexReader();
+        FacetState current = facetState;
+        if (current != null && current.reader() == reader) {
+            return current.state();
+        }
+        SortedSetDocValuesReaderState state;
+        try {
+            state = new DefaultSortedSetDocValuesReaderState(reader, facetsConfig);
+        } catch (IllegalArgumentException e) {
+            state = null; // index vide : aucun champ de facette encore écrit
+        }
+        facetState = new FacetState(reader, state);
+        return state;
+    }
+
+    private static Map<String, Long> toMap(Facets counts, String dimension) throws IOException {
+        Map<String, Long> values = new LinkedHashMap<>();
+        FacetResult result;
+        try {
+            result = counts.getTopChildren(MAX_FACET_VALUES, dimension);
+        } catch (IllegalArgumentException e) {
+            return values; // dimension absente de l'index
+        }
+        if (result != null) {
+            for (LabelAndValue labelAndValue : result.labelValues) {
+                values.put(labelAndValue.label, labelAndValue.value.longValue());
+            }
+        }
+        return values;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (hasText(value)) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    private static void addFilter(BooleanQuery.Builder builder, String field, String value) {
+        if (hasText(value)) {
+            builder.add(new TermQuery(new Term(field, value.trim())), BooleanClause.Occur.FILTER);
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static Term idTerm(Long internshipId) {
+        return new Term(FIELD_ID, internshipId.toString());
+    }
+
+    // Même principe que pour les messages : le numéro de document ne sert qu'à exclure la ligne servie
+    private static FieldDoc toFieldDoc(KeysetCursor after, int maxDoc) {
+        return new FieldDoc(Math.max(maxDoc - 1, 0), after.asFloat(), new Object[]{after.asFloat(), after.id()});
+    }
+
+    private record FacetState(IndexReader reader, SortedSetDocValuesReaderState state) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.techsolution.ima_backend.search;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Résultat d'une recherche d'offres : la page de résultats et, calculés sur le même passage,
+ * le nombre total de résultats et les comptages par facette (dimension -> valeur -> nombre d'offres).
+ */
+public record InternshipSearchResult(
+        List<InternshipSearchHit> hits,
+        long totalHits,
+        Map<String, Map<String, Long>> facets
+) {
+}
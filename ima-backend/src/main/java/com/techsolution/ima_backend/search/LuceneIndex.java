@@ -0,0 +1,218 @@
+package com.techsolution.ima_backend.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Index Lucene sur disque : un IndexWriter partagé (thread-safe) et un SearcherManager
+ * en lecture quasi temps réel. Les écritures deviennent visibles au prochain {@link #refresh()}
+ * et durables au prochain {@link #commit()} (appelés périodiquement par le propriétaire de l'index).
+ * Une reconstruction complète ({@link #rebuild}) remplit un index à part puis le substitue
+ * d'un bloc : les recherches ne voient jamais un index vidé ou partiellement rempli.
+ */
+public class LuceneIndex implements Closeable {
+
+    private final Path path;
+    private final Analyzer analyzer;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    // Modifications non encore validées sur disque
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    // Écritures, rafraîchissements et commits en lecture ; substitution de l'index reconstruit en écriture
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // Index en cours de reconstruction : reçoit aussi les écritures courantes pour ne pas les perdre au remplacement
+    private volatile IndexWriter rebuildWriter;
+
+    public LuceneIndex(Path path, Analyzer analyzer) {
+        this.path = path;
+        this.analyzer = analyzer;
+        try {
+            Files.createDirectories(path);
+            this.directory = FSDirectory.open(path);
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible d'ouvrir l'index " + path, e);
+        }
+    }
+
+    public void update(Term idTerm, Iterable<? extends IndexableField> document) {
+        Lock lock = swapLock.readLock();
+        lock.lock();
+        try {
+            writer.updateDocument(idTerm, document);
+            IndexWriter rebuilding = rebuildWriter;
+            if (rebuilding != null) {
+                rebuilding.updateDocument(idTerm, document);
+            }
+            dirty.set(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void delete(Term idTerm) {
+        Lock lock = swapLock.readLock();
+        lock.lock();
+        try {
+            writer.deleteDocuments(idTerm);
+            IndexWriter rebuilding = rebuildWriter;
+            if (rebuilding != null) {
+                rebuilding.deleteDocuments(idTerm);
+            }
+            dirty.set(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reconstruit tout l'index : {@code populate} écrit chaque document dans un index séparé,
+     * puis le contenu courant est remplacé par celui-ci, validé et rendu visible d'un seul bloc.
+     * Jusque-là les recherches servent l'ancien contenu ; en cas d'échec il reste intact.
+     */
+    public synchronized void rebuild(Consumer<DocumentSink> populate) {
+        Path rebuildPath = path.resolveSibling(path.getFileName() + "-rebuild");
+        try (Directory rebuildDirectory = FSDirectory.open(Files.createDirectories(rebuildPath))) {
+            IndexWriter target = new IndexWriter(rebuildDirectory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+            rebuildWriter = target;
+            try {
+                populate.accept((idTerm, document) -> {
+                    try {
+                        target.updateDocument(idTerm, document);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                swap(target, rebuildDirectory);
+            } finally {
+                IndexWriter abandoned = rebuildWriter;
+                rebuildWriter = null;
+                if (abandoned != null) {
+                    abandoned.rollback();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de la reconstruction de l'index " + path, e);
+        } finally {
+            deleteRecursively(rebuildPath);
+        }
+    }
+
+    private void swap(IndexWriter target, Directory rebuildDirectory) throws IOException {
+        Lock lock = swapLock.writeLock();
+        lock.lock();
+        try {
+            target.close();
+            rebuildWriter = null;
+            writer.deleteAll();
+            writer.addIndexes(rebuildDirectory);
+            writer.commit();
+            dirty.set(false);
+            searcherManager.maybeRefreshBlocking();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void deleteRecursively(Path root) {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> T search(SearchFunction<T> function) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return function.apply(searcher);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int numDocs() {
+        return writer.getDocStats().numDocs;
+    }
+
+    public void refresh() {
+        Lock lock = swapLock.readLock();
+        lock.lock();
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void commit() {
+        Lock lock = swapLock.readLock();
+        lock.lock();
+        try {
+            if (!dirty.getAndSet(false)) {
+                return;
+            }
+            writer.commit();
+        } catch (IOException e) {
+            dirty.set(true);
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close(); // valide les modifications en attente
+        directory.close();
+    }
+
+    @FunctionalInterface
+    public interface SearchFunction<T> {
+        T apply(IndexSearcher searcher) throws IOException;
+    }
+
+    // Destination des documents pendant une reconstruction
+    @FunctionalInterface
+    public interface DocumentSink {
+        void add(Term idTerm, Iterable<? extends IndexableField> document);
+    }
+}
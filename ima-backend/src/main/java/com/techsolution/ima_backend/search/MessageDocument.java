@@ -0,0 +1,9 @@
+package com.techsolution.ima_backend.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * Données d'un message nécessaires à l'index, copiées avant la fin de la transaction.
+ */
+public record MessageDocument(Long id, Long senderId, Long recipientId, LocalDateTime sentDate, String content) {
+}
@@ -0,0 +1,7 @@
+package com.techsolution.ima_backend.search;
+
+/**
+ * @param highlight extrait du contenu, termes trouvés entourés de &lt;mark&gt; (HTML échappé)
+ */
+public record MessageSearchHit(long messageId, float score, String highlight) {
+}
@@ -0,0 +1,172 @@
+package com.techsolution.ima_backend.search;
+
+import com.techsolution.ima_backend.pagination.KeysetCursor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Index plein texte du contenu des messages (Lucene, analyse française).
+ * Chaque document porte les deux participants : une recherche est toujours filtrée
+ * sur l'utilisateur courant. Tri par pertinence (BM25) puis id décroissant, ce qui
+ * permet la pagination par curseur via searchAfter.
+ */
+@Slf4j
+@Component
+public class MessageSearchIndex {
+
+    static final String FIELD_ID = "id";
+    static final String FIELD_ID_SORT = "id_sort";
+    static final String FIELD_PARTICIPANT = "participant";
+    static final String FIELD_CONTENT = "content";
+
+    // Contenu indexé avec les offsets : surlignage sans ré-analyse du texte
+    private static final FieldType CONTENT_TYPE = new FieldType(TextField.TYPE_STORED);
+    static {
+        CONTENT_TYPE.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        CONTENT_TYPE.freeze();
+    }
+
+    private static final Sort RELEVANCE_THEN_NEWEST = new Sort(
+            SortField.FIELD_SCORE,
+            new SortField(FIELD_ID_SORT, SortField.Type.LONG, true)
+    );
+
+    private final Analyzer analyzer = new FrenchAnalyzer();
+
+    @Value("${search.index.dir:./data/search-index}")
+    private Path indexDir;
+
+    private LuceneIndex index;
+
+    @PostConstruct
+    void open() {
+        this.index = new LuceneIndex(indexDir.resolve("messages"), analyzer);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        index.close();
+    }
+
+    public void index(MessageDocument message) {
+        index.update(idTerm(message.id()), toDocument(message));
+    }
+
+    private static Document toDocument(MessageDocument message) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, message.id().toString(), Field.Store.YES));
+        document.add(new NumericDocValuesField(FIELD_ID_SORT, message.id()));
+        document.add(new StringField(FIELD_PARTICIPANT, message.senderId().toString(), Field.Store.NO));
+        document.add(new StringField(FIELD_PARTICIPANT, message.recipientId().toString(), Field.Store.NO));
+        document.add(new Field(FIELD_CONTENT, message.content() != null ? message.content() : "", CONTENT_TYPE));
+        return document;
+    }
+
+    public void delete(Long messageId) {
+        index.delete(idTerm(messageId));
+    }
+
+    /**
+     * Remplace tout le contenu de l'index par les documents fournis à {@code source} ;
+     * les recherches servent l'ancien contenu jusqu'à la fin du remplissage.
+     */
+    public void rebuild(Consumer<Consumer<MessageDocument>> source) {
+        index.rebuild(sink -> source.accept(message -> sink.add(idTerm(message.id()), toDocument(message))));
+    }
+
+    public int size() {
+        return index.numDocs();
+    }
+
+    /**
+     * @param after dernière position servie (score, id), null pour la première page
+     * @param limit nombre maximum de résultats
+     */
+    public List<MessageSearchHit> search(Long userId, String text, KeysetCursor after, int limit) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_CONTENT);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query textQuery = parser.parse(text);
+        if (textQuery == null) {
+            return List.of(); // uniquement des mots vides
+        }
+
+        Query query = new BooleanQuery.Builder()
+                .add(textQuery, BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(FIELD_PARTICIPANT, userId.toString())), BooleanClause.Occur.FILTER)
+                .build();
+
+        return index.search(searcher -> {
+            TopFieldDocs topDocs = after == null
+                    ? searcher.search(query, limit, RELEVANCE_THEN_NEWEST, true)
+                    : searcher.searchAfter(toFieldDoc(after, searcher.getIndexReader().maxDoc()), query, limit, RELEVANCE_THEN_NEWEST, true);
+
+            UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                    .withFormatter(new DefaultPassageFormatter("<mark>", "</mark>", "… ", true))
+                    .withMaxNoHighlightPassages(1)
+                    .build();
+            String[] highlights = highlighter.highlight(FIELD_CONTENT, textQuery, topDocs, 2);
+
+            List<MessageSearchHit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+            for (int i = 0; i < topDocs.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                long id = Long.parseLong(searcher.storedFields().document(scoreDoc.doc).get(FIELD_ID));
+                hits.add(new MessageSearchHit(id, scoreDoc.score, highlights[i]));
+            }
+            return hits;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.refresh-interval-ms:1000}")
+    public void refresh() {
+        index.refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.commit-interval-ms:30000}")
+    public void commit() {
+        index.commit();
+    }
+
+    private static Term idTerm(Long messageId) {
+        return new Term(FIELD_ID, messageId.toString());
+    }
+
+    /**
+     * Position (score, id) de la dernière ligne servie. L'id étant unique, le numéro de document
+     * ne sert qu'à exclure la ligne elle-même : il est fixé au maximum pour que l'égalité ne passe pas.
+     */
+    private static FieldDoc toFieldDoc(KeysetCursor after, int maxDoc) {
+        return new FieldDoc(Math.max(maxDoc - 1, 0), after.asFloat(), new Object[]{after.asFloat(), after.id()});
+    }
+}
@@ -0,0 +1,55 @@
+package com.techsolution.ima_backend.security;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtre de Bloom sur des empreintes SHA-256 (déjà uniformément distribuées).
+ * Les positions sont dérivées par double hachage des 16 premiers octets de l'empreinte.
+ * Thread-safe ; pas de suppression possible, il faut reconstruire le filtre.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(expectedInsertions, 1);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, m);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+    }
+
+    void put(byte[] digest) {
+        ByteBuffer buffer = ByteBuffer.wrap(digest);
+        long h1 = buffer.getLong(0);
+        long h2 = buffer.getLong(8);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(byte[] digest) {
+        ByteBuffer buffer = ByteBuffer.wrap(digest);
+        long h1 = buffer.getLong(0);
+        long h2 = buffer.getLong(8);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
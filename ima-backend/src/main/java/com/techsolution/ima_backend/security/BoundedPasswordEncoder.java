@@ -0,0 +1,128 @@
+package com.techsolution.ima_backend.security;
+
+import com.techsolution.ima_backend.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt exécuté sur un pool dédié et borné : les pics de connexion ne monopolisent
+ * plus les threads Tomcat. Quand la file d'attente est pleine, la requête est refusée
+ * immédiatement (429) au lieu de s'accumuler ; l'attente d'un hachage déjà en file est
+ * elle aussi bornée, le thread de la requête n'est jamais bloqué indéfiniment.
+ * Le coût (strength) est configurable ; {@link #upgradeEncoding} signale les hash
+ * calculés avec un coût inférieur pour qu'ils soient recalculés à la connexion.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMs;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(int strength, int poolSize, int queueCapacity, long waitTimeoutMs,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.waitTimeoutMs = waitTimeoutMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.encodeTimer = Timer.builder("security.password.hash")
+                .tag("operation", "encode")
+                .description("Durée de calcul BCrypt")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("security.password.hash")
+                .tag("operation", "matches")
+                .description("Durée de calcul BCrypt")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("security.password.hash.rejected")
+                .description("Hachages refusés car la file d'attente est pleine ou l'attente trop longue")
+                .register(meterRegistry);
+        Gauge.builder("security.password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Hachages en attente d'un thread BCrypt")
+                .register(meterRegistry);
+        Gauge.builder("security.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hachages en cours")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw rejected();
+        }
+
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Libère aussi la place occupée dans la file si le hachage n'a pas démarré
+            future.cancel(true);
+            executor.remove((Runnable) future);
+            throw rejected();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hachage du mot de passe interrompu", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Échec du hachage du mot de passe", e.getCause());
+        }
+    }
+
+    private TooManyRequestsException rejected() {
+        rejectedCounter.increment();
+        return new TooManyRequestsException("Trop de demandes d'authentification, réessayez dans un instant");
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -1,6 +1,6 @@
 package com.techsolution.ima_backend.security;
 
-import com.techsolution.ima_backend.services.impl.UserDetailsServiceImpl;
+import com.techsolution.ima_backend.entities.CustomUserDetails;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,8 +19,7 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final JwtPrincipalResolver principalResolver;
 
     @Override
     protected void doFilterInternal(
@@ -30,15 +29,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         String path = request.getServletPath();
 
-        System.out.println(">>> JWT FILTER CALLED");
-        System.out.println("HEADER = " + request.getHeader("Authorization"));
-
         // 🔹 Exclure Swagger et les endpoints d'auth PUBLICS uniquement
         if (path.startsWith("/swagger-ui") ||
                 path.equals("/swagger-ui.html") ||
                 path.startsWith("/v3/api-docs") ||
                 path.equals("/api/v1/auth/login") ||
-                path.equals("/api/v1/auth/register")) {
+                path.equals("/api/v1/auth/register") ||
+                path.equals("/api/v1/auth/refresh-token")) {
 
             filterChain.doFilter(request, response);
             return;
@@ -51,32 +48,21 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         // ---------------------------------------
-        // 🔐 4. Traitement normal du JWT
+        // 🔐 4. Traitement normal du JWT (un seul parsing, sans BDD en mode stateless)
         // ---------------------------------------
         final String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String email = null;
-
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            // Ajoutez ceci pour voir le coupable :
-            log.info("TOKEN BRUT RECU: [{}]", token);
-            try {
-                email = jwtUtil.extractEmail(token);
-                log.info("EMAIL EXTRAIT: {}", email);
-            } catch (Exception e) {
-                log.warn("Erreur extraction email depuis JWT: {}", e.getMessage());
-                log.error("ERREUR D'EXTRACTION: {}", e.getMessage());
-            }
-        }else {
+
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             log.debug("Pas de token Bearer dans l’en-tête pour : {}", path);
+            filterChain.doFilter(request, response);
+            return;
         }
 
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            String token = authHeader.substring(7);
+            CustomUserDetails userDetails = principalResolver.resolve(token);
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var userDetails = userDetailsService.loadUserByUsername(email);
-
-            if (jwtUtil.isTokenValid(token)) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken auth =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails, null, userDetails.getAuthorities()
@@ -86,16 +72,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
                 SecurityContextHolder.getContext().setAuthentication(auth);
 
-                log.info("User [{}] authenticated with roles: {}", email,
-                        userDetails.getAuthorities().stream()
-                                .map(a -> a.getAuthority())
-                                .toList());
+                log.debug("User [{}] authenticated with roles: {}", userDetails.getUsername(),
+                        userDetails.getAuthorities());
             } else {
-                log.warn("JWT invalid for email: {}", email);
+                log.warn("JWT invalid for request: {}", path);
             }
-
-        } else if (email == null) {
-            log.warn("No email extracted from token for request: {}", request.getServletPath());
         }
 
         filterChain.doFilter(request, response);
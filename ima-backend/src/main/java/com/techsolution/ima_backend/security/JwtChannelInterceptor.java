@@ -0,0 +1,54 @@
+package com.techsolution.ima_backend.security;
+
+import com.techsolution.ima_backend.entities.CustomUserDetails;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authentifie le CONNECT STOMP : sans token Bearer valide, la connexion est refusée
+ * (trame ERROR puis fermeture). L'utilisateur du JWT est associé à la session.
+ * Le nom du principal est l'email : c'est lui qui sert de cible à
+ * {@code convertAndSendToUser} pour les destinations /user/queue/**.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtChannelInterceptor implements ChannelInterceptor {
+
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtPrincipalResolver principalResolver;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+
+        String authHeader = accessor.getFirstNativeHeader(AUTHORIZATION_HEADER);
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            log.debug("CONNECT STOMP sans token Bearer (session {})", accessor.getSessionId());
+            throw new AccessDeniedException("Token Bearer requis pour la connexion WebSocket");
+        }
+
+        CustomUserDetails userDetails = principalResolver.resolve(authHeader.substring(BEARER_PREFIX.length()));
+        if (userDetails == null) {
+            log.warn("JWT invalide lors du CONNECT STOMP (session {})", accessor.getSessionId());
+            throw new AccessDeniedException("Token invalide ou expiré");
+        }
+
+        accessor.setUser(new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        return message;
+    }
+}
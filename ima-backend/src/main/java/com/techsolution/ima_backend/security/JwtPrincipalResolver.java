@@ -0,0 +1,101 @@
+package com.techsolution.ima_backend.security;
+
+import com.techsolution.ima_backend.entities.CustomUserDetails;
+import com.techsolution.ima_backend.services.impl.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Transforme un JWT en principal {@link CustomUserDetails}.
+ * En mode stateless (par défaut), le principal est construit directement depuis les claims
+ * vérifiés (uid + roles) sans requête en base. Les tokens qui ne portent pas ces claims
+ * (anciens tokens) ou le mode {@code security.jwt.stateless-auth=false}
+ * passent par {@link UserDetailsServiceImpl}.
+ * Les tokens révoqués sont refusés avant tout parsing ; les principaux issus des claims
+ * sont mis en cache jusqu'à l'expiration du token pour éviter de revérifier la signature.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtPrincipalResolver {
+
+    private final JwtUtil jwtUtil;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationList revocationList;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @Value("${security.jwt.stateless-auth:true}")
+    private boolean statelessAuth;
+
+    /**
+     * @return le principal associé au token, ou null si le token est invalide.
+     */
+    public CustomUserDetails resolve(String token) {
+        byte[] digest = TokenHashes.sha256(token);
+        if (revocationList.isRevoked(digest)) {
+            return null;
+        }
+
+        String tokenHash = TokenHashes.toHex(digest);
+        if (statelessAuth) {
+            CustomUserDetails cached = verifiedTokenCache.get(tokenHash);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Claims claims = jwtUtil.parseClaims(token);
+        if (claims == null || claims.getSubject() == null) {
+            return null;
+        }
+
+        // Un refresh token ne sert qu'à l'endpoint de rafraîchissement
+        if (JwtUtil.TYPE_REFRESH.equals(claims.get(JwtUtil.CLAIM_TYPE, String.class))) {
+            return null;
+        }
+
+        if (statelessAuth) {
+            CustomUserDetails principal = fromClaims(claims);
+            if (principal != null) {
+                verifiedTokenCache.put(tokenHash, principal, claims.getExpiration().getTime());
+                return principal;
+            }
+        }
+
+        return loadFromDatabase(claims.getSubject());
+    }
+
+    private CustomUserDetails fromClaims(Claims claims) {
+        Number userId = claims.get(JwtUtil.CLAIM_USER_ID, Number.class);
+        List<?> roles = claims.get(JwtUtil.CLAIM_ROLES, List.class);
+
+        if (userId == null || roles == null) {
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(role)))
+                .toList();
+
+        return new CustomUserDetails(userId.longValue(), claims.getSubject(), null, authorities);
+    }
+
+    private CustomUserDetails loadFromDatabase(String email) {
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            return (CustomUserDetails) userDetails;
+        } catch (UsernameNotFoundException e) {
+            log.warn("JWT valide mais utilisateur introuvable: {}", email);
+            return null;
+        }
+    }
+}
@@ -1,81 +1,189 @@
 package com.techsolution.ima_backend.security;
 
-import com.techsolution.ima_backend.entities.User;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.security.Keys;
-
+import org.springframework.util.StringUtils;
 
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Component
-@RequiredArgsConstructor
 public class JwtUtil {
+
+    // Claims embarqués dans l'access token (permettent l'authentification sans BDD)
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_TYPE = "typ";
+    public static final String TYPE_REFRESH = "refresh";
+
     @Value("${security.jwt.secret}")
     private String secret;
+    // Identifiant (kid) de la clé de signature active
+    @Value("${security.jwt.key-id:default}")
+    private String keyId;
+    // Anciennes clés encore acceptées en vérification : "kid1:secret1,kid2:secret2"
+    @Value("${security.jwt.retired-keys:}")
+    private String retiredKeys;
     @Value("${security.jwt.access-exp-ms:900000}")   // 15 min
     private long expirationMs;
     @Value("${security.jwt.refresh-exp-ms:1209600000}") // 14 jours
     private long refreshExpMs;
 
-    // Utilisation de SecretKey pour la compatibilité avec les nouvelles versions
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // Trousseau immuable remplacé atomiquement lors d'une rotation
+    private volatile KeyRing keyRing;
+
+    // Le parser est immuable et thread-safe : construit une seule fois
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        Map<String, SecretKey> verificationKeys = new LinkedHashMap<>();
+        if (StringUtils.hasText(retiredKeys)) {
+            for (String entry : retiredKeys.split(",")) {
+                int separator = entry.indexOf(':');
+                if (separator <= 0) {
+                    throw new IllegalStateException("security.jwt.retired-keys attend le format kid:secret");
+                }
+                verificationKeys.put(entry.substring(0, separator).trim(), hmacKey(entry.substring(separator + 1).trim()));
+            }
+        }
+
+        SecretKey activeKey = hmacKey(secret);
+        verificationKeys.put(keyId, activeKey);
+
+        this.keyRing = new KeyRing(keyId, activeKey, Collections.unmodifiableMap(verificationKeys));
+        this.parser = Jwts.parser()
+                .keyLocator(new KeyRingLocator())
+                .build();
     }
 
-    public String generateToken(String email, List<String> roles) {
+    /**
+     * Rotation sans interruption : la nouvelle clé signe les tokens émis à partir de maintenant,
+     * l'ancienne reste acceptée en vérification jusqu'à l'expiration des tokens qu'elle a signés.
+     */
+    public synchronized void rotateSigningKey(String newKeyId, String newSecret) {
+        this.keyRing = keyRing.withActive(newKeyId, hmacKey(newSecret));
+    }
+
+    /**
+     * Retire une clé du trousseau de vérification (hors clé active).
+     */
+    public synchronized void retireKey(String retiredKeyId) {
+        this.keyRing = keyRing.without(retiredKeyId);
+    }
+
+    public String generateToken(Long userId, String email, List<String> roles) {
+        KeyRing ring = keyRing;
         return Jwts.builder()
+                .header().keyId(ring.activeKeyId()).and()
                 .subject(email) // Définit le "sub"
-                .claim("roles", roles)
+                .claim(CLAIM_USER_ID, userId)
+                .claim(CLAIM_ROLES, roles)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expirationMs))
-                .signWith(getSigningKey()) // Signature automatique
+                .signWith(ring.activeKey()) // Signature automatique
                 .compact();
     }
 
-    public String generateRefreshToken(User user) {
-        Instant now = Instant.now();
+    public Duration refreshTokenTtl() {
+        return Duration.ofMillis(refreshExpMs);
+    }
+
+    /**
+     * Refresh token signé ; le jti aléatoire garantit une empreinte unique
+     * même pour deux tokens émis dans la même seconde.
+     */
+    public String generateRefreshToken(String email, Instant issuedAt, Instant expiresAt) {
+        KeyRing ring = keyRing;
         return Jwts.builder()
-                .subject(user.getEmail())
-                .claim("typ", "refresh")
-                .issuedAt(Date.from(now))
-                .expiration(Date.from(now.plusMillis(refreshExpMs)))
-                .signWith(getSigningKey())
+                .header().keyId(ring.activeKeyId()).and()
+                .id(UUID.randomUUID().toString())
+                .subject(email)
+                .claim(CLAIM_TYPE, TYPE_REFRESH)
+                .issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(expiresAt))
+                .signWith(ring.activeKey())
                 .compact();
     }
 
-    public String extractEmail(String token) {
+    /**
+     * Vérifie la signature et l'expiration du token en un seul parsing.
+     * @return les claims du token, ou null si le token est invalide ou expiré.
+     */
+    public Claims parseClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .getSubject();
-        } catch (Exception e) {
-            // Log important pour voir pourquoi l'extraction échoue
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
             return null;
         }
     }
 
+    public String extractEmail(String token) {
+        Claims claims = parseClaims(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+
     public boolean isTokenValid(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+        return parseClaims(token) != null;
+    }
+
+    private static SecretKey hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sélectionne la clé de vérification d'après le "kid" de l'en-tête.
+     * Les tokens émis avant l'introduction du kid sont vérifiés avec la clé active.
+     */
+    private final class KeyRingLocator extends LocatorAdapter<Key> {
+        @Override
+        protected Key locate(JwsHeader header) {
+            KeyRing ring = keyRing;
+            String kid = header.getKeyId();
+            if (kid == null) {
+                return ring.activeKey();
+            }
+            SecretKey key = ring.verificationKeys().get(kid);
+            if (key == null) {
+                throw new JwtException("Unknown JWT key id: " + kid);
+            }
+            return key;
+        }
+    }
+
+    private record KeyRing(String activeKeyId, SecretKey activeKey, Map<String, SecretKey> verificationKeys) {
+
+        KeyRing withActive(String kid, SecretKey key) {
+            Map<String, SecretKey> keys = new LinkedHashMap<>(verificationKeys);
+            keys.put(kid, key);
+            return new KeyRing(kid, key, Collections.unmodifiableMap(keys));
+        }
+
+        KeyRing without(String kid) {
+            if (kid.equals(activeKeyId)) {
+                throw new IllegalArgumentException("La clé active ne peut pas être retirée: " + kid);
+            }
+            Map<String, SecretKey> keys = new LinkedHashMap<>(verificationKeys);
+            keys.remove(kid);
+            return new KeyRing(activeKeyId, activeKey, Collections.unmodifiableMap(keys));
         }
     }
 
@@ -0,0 +1,33 @@
+package com.techsolution.ima_backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Empreinte SHA-256 des tokens : sert de clé de cache et de révocation,
+ * le token brut n'est jamais conservé en mémoire ni en base.
+ */
+public final class TokenHashes {
+
+    private TokenHashes() {
+        // Constructeur privé
+    }
+
+    public static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    public static String toHex(byte[] digest) {
+        return HexFormat.of().formatHex(digest);
+    }
+
+    public static String sha256Hex(String token) {
+        return toHex(sha256(token));
+    }
+}
@@ -0,0 +1,86 @@
+package com.techsolution.ima_backend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Liste en mémoire des tokens révoqués (déconnexion, rotation) jusqu'à leur expiration.
+ * Le filtre de Bloom répond "non révoqué" sans allocation dans le cas nominal ;
+ * seuls les positifs (vrais ou faux) sont confirmés dans l'ensemble exact.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+
+    // empreinte hexadécimale -> date d'expiration du token (epoch ms)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    private final Counter rejectedCounter;
+
+    public TokenRevocationList(
+            @Value("${security.jwt.revocation.expected-entries:100000}") int expectedEntries,
+            @Value("${security.jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+            MeterRegistry meterRegistry) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+
+        this.rejectedCounter = Counter.builder("security.jwt.revocation.rejected")
+                .description("Requêtes refusées car présentant un token révoqué")
+                .register(meterRegistry);
+        Gauge.builder("security.jwt.revocation.size", revoked, Map::size)
+                .description("Tokens révoqués non encore expirés")
+                .register(meterRegistry);
+    }
+
+    public synchronized void revoke(byte[] digest, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return; // déjà expiré, rien à retenir
+        }
+        revoked.put(TokenHashes.toHex(digest), expiresAtMillis);
+        filter.put(digest);
+    }
+
+    public boolean isRevoked(byte[] digest) {
+        if (!filter.mightContain(digest)) {
+            return false;
+        }
+        boolean isRevoked = revoked.containsKey(TokenHashes.toHex(digest));
+        if (isRevoked) {
+            rejectedCounter.increment();
+        }
+        return isRevoked;
+    }
+
+    /**
+     * Oublie les tokens expirés et reconstruit le filtre (un filtre de Bloom ne supporte pas la suppression).
+     */
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.purge-interval-ms:600000}")
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size()), falsePositiveRate);
+        HexFormat hex = HexFormat.of();
+        revoked.keySet().forEach(key -> rebuilt.put(hex.parseHex(key)));
+        this.filter = rebuilt;
+
+        if (before != revoked.size()) {
+            log.debug("Révocations purgées: {} -> {}", before, revoked.size());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.techsolution.ima_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.techsolution.ima_backend.entities.CustomUserDetails;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache borné des tokens déjà vérifiés : empreinte du token -> principal résolu.
+ * Chaque entrée expire en même temps que le token qu'elle représente.
+ * Métriques exposées sous le nom de cache "jwt.verified-tokens" (hits, misses, evictions).
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, CachedPrincipal> cache;
+
+    public VerifiedTokenCache(
+            @Value("${security.jwt.cache.max-size:10000}") long maxSize,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.<String, CachedPrincipal>creating((key, value) ->
+                        Duration.ofMillis(Math.max(0, value.expiresAtMillis() - System.currentTimeMillis()))))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+    }
+
+    public CustomUserDetails get(String tokenHash) {
+        CachedPrincipal cached = cache.getIfPresent(tokenHash);
+        return cached != null ? cached.principal() : null;
+    }
+
+    public void put(String tokenHash, CustomUserDetails principal, long expiresAtMillis) {
+        cache.put(tokenHash, new CachedPrincipal(principal, expiresAtMillis));
+    }
+
+    public void invalidate(String tokenHash) {
+        cache.invalidate(tokenHash);
+    }
+
+    private record CachedPrincipal(CustomUserDetails principal, long expiresAtMillis) {
+    }
+}
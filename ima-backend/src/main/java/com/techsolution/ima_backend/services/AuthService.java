@@ -18,10 +18,16 @@ public interface AuthService {
     // Récupération de l'utilisateur connecté (Utile pour la logique métier interne)
     User getAuthenticatedUserEntity();
 
+    // Identifiant de l'utilisateur connecté, lu depuis le principal (sans requête BDD)
+    Long getAuthenticatedUserId();
+
     // Récupération du profil utilisateur (Utile pour l'affichage Frontend)
     UserResponse getAuthenticatedUserResponse();
 
     // Optionnel : Pour rafraîchir le token sans se reconnecter
      AuthResponse refreshToken(String refreshToken);
 
+    // Déconnexion : révoque l'access token jusqu'à son expiration et, si fourni, la famille du refresh token
+    void logout(String accessToken, String refreshToken);
+
 }
@@ -0,0 +1,21 @@
+package com.techsolution.ima_backend.services;
+
+import com.techsolution.ima_backend.dtos.response.ConversationSummaryResponse;
+import com.techsolution.ima_backend.entities.Message;
+import com.techsolution.ima_backend.pagination.CursorPage;
+
+public interface InboxService {
+
+    // Conversations de l'utilisateur connecté, de la plus récemment active à la plus ancienne
+    CursorPage<ConversationSummaryResponse> getInbox(String cursor, int size);
+
+    // Mises à jour incrémentales, dans la transaction du service de messagerie
+    void onMessageCreated(Message message);
+
+    void onMessageUpdated(Message message);
+
+    void onMessageDeleted(Message message);
+
+    // Messages reçus de peerId marqués comme lus par ownerId
+    void onMessagesRead(Long ownerId, Long peerId, int count);
+}
@@ -0,0 +1,22 @@
+package com.techsolution.ima_backend.services;
+
+import com.techsolution.ima_backend.dtos.response.InternshipSearchResponse;
+import com.techsolution.ima_backend.dtos.response.ReindexResponse;
+import com.techsolution.ima_backend.entities.Internship;
+
+public interface InternshipSearchService {
+
+    // Recherche plein texte dans les offres actives, par pertinence, avec facettes pays / ville / rémunération
+    InternshipSearchResponse search(String query, String country, String city, Boolean isPaid, String cursor, int size);
+
+    // Reconstruit tout l'index à partir de la base
+    ReindexResponse reindex();
+
+    // Mise à jour incrémentale de l'index, appliquée après validation de la transaction
+    void indexAfterCommit(Internship internship);
+
+    void removeAfterCommit(Long internshipId);
+
+    // Réindexe les offres actives d'une entreprise (changement de nom)
+    void reindexCompanyAfterCommit(Long companyId);
+}
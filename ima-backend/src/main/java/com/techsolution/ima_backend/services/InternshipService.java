@@ -1,7 +1,9 @@
 package com.techsolution.ima_backend.services;
 
 import com.techsolution.ima_backend.dtos.request.InternshipRequest;
+import com.techsolution.ima_backend.dtos.request.InternshipSearchRequest;
 import com.techsolution.ima_backend.dtos.response.InternshipResponse;
+import com.techsolution.ima_backend.pagination.CursorPage;
 
 import java.util.List;
 
@@ -9,6 +11,7 @@ public interface InternshipService {
 
     InternshipResponse createInternship(InternshipRequest internshipRequest);
     List<InternshipResponse> findAllActiveInternships();
+    CursorPage<InternshipResponse> searchInternships(InternshipSearchRequest criteria, String cursor, int size);
     InternshipResponse findInternshipById(Long internshipId);
     InternshipResponse updateInternship(Long internshipId, InternshipRequest internshipRequest);
     void deactivateInternship(Long internshipId);
@@ -0,0 +1,20 @@
+package com.techsolution.ima_backend.services;
+
+import com.techsolution.ima_backend.dtos.response.MessageSearchResultResponse;
+import com.techsolution.ima_backend.dtos.response.ReindexResponse;
+import com.techsolution.ima_backend.entities.Message;
+import com.techsolution.ima_backend.pagination.CursorPage;
+
+public interface MessageSearchService {
+
+    // Recherche plein texte dans les conversations de l'utilisateur connecté, par pertinence
+    CursorPage<MessageSearchResultResponse> search(String query, String cursor, int size);
+
+    // Reconstruit tout l'index à partir de la base
+    ReindexResponse reindex();
+
+    // Mise à jour incrémentale de l'index, appliquée après validation de la transaction
+    void indexAfterCommit(Message message);
+
+    void removeAfterCommit(Long messageId);
+}
@@ -2,6 +2,9 @@ package com.techsolution.ima_backend.services;
 
 import com.techsolution.ima_backend.dtos.request.MessageRequest;
 import com.techsolution.ima_backend.dtos.response.MessageResponse;
+import com.techsolution.ima_backend.dtos.response.PresenceResponse;
+import com.techsolution.ima_backend.dtos.response.ReadReceiptResponse;
+import com.techsolution.ima_backend.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -10,8 +13,19 @@ import java.util.List;
 public interface MessageService {
 
     MessageResponse createMessage(MessageRequest messageRequest);
+    // Messages de tous les utilisateurs (administration) : préférer getConversation et la boîte de réception
+    @Deprecated
     Page<MessageResponse> getAllMessages(Pageable pageable);
     MessageResponse getMessageById(Long messageId);
     MessageResponse updateMessage(Long messageId, MessageRequest messageRequest);
     void deleteMessage(Long messageId);
+
+    // Conversation entre l'utilisateur connecté et un autre utilisateur, du plus récent au plus ancien
+    CursorPage<MessageResponse> getConversation(Long peerId, String cursor, int size);
+
+    // Marque comme lus les messages reçus de peerId jusqu'à upToMessageId inclus (tous si null)
+    ReadReceiptResponse markConversationRead(Long peerId, Long upToMessageId);
+
+    // Présence : l'utilisateur a-t-il au moins une session WebSocket ouverte ? (interlocuteurs et administrateurs)
+    PresenceResponse getPresence(Long userId);
 }
@@ -0,0 +1,9 @@
+package com.techsolution.ima_backend.services;
+
+import com.techsolution.ima_backend.dtos.response.RetentionReportResponse;
+
+public interface NotificationRetentionService {
+
+    // Supprime (ou archive puis supprime) les notifications au-delà de leur durée de conservation
+    RetentionReportResponse purge();
+}
@@ -1,8 +1,13 @@
 package com.techsolution.ima_backend.services;
 
+import com.techsolution.ima_backend.dtos.request.NotificationBulkRequest;
 import com.techsolution.ima_backend.dtos.request.NotificationUpdateRequest;
+import com.techsolution.ima_backend.dtos.response.BulkOperationResponse;
 import com.techsolution.ima_backend.dtos.response.NotificationResponse;
+import com.techsolution.ima_backend.dtos.response.UnreadCountResponse;
+import com.techsolution.ima_backend.entities.NotificationKind;
 import com.techsolution.ima_backend.entities.User;
+import com.techsolution.ima_backend.pagination.CursorPage;
 
 import java.util.List;
 
@@ -10,11 +15,39 @@ public interface NotificationService {
 
     NotificationResponse createSystemNotification(String message, String relatedUrl, Long recipientId);
 
+    // Création groupée (une transaction, destinataires chargés en une requête), puis push après commit.
+    // Les natures regroupables sont fusionnées avec une notification récente non vue de la même ressource.
+    List<NotificationResponse> createSystemNotifications(List<Draft> drafts);
+
+    // Notifications de l'utilisateur connecté uniquement
     List<NotificationResponse> getAllNotifications();
+
+    // Fil de l'utilisateur connecté, paginé par curseur sur (notification_date, id)
+    CursorPage<NotificationResponse> getNotificationFeed(String cursor, int size);
+
+    // Rattrapage à la reconnexion : notifications postérieures au curseur, de la plus ancienne à la plus récente
+    CursorPage<NotificationResponse> getNotificationsSince(String cursor, int size);
+
+    // Nombre de notifications non vues de l'utilisateur connecté
+    UnreadCountResponse getUnreadCount();
+
     NotificationResponse getNotificationById(Long notificationId);
 
     // La méthode update gère maintenant la mise à jour de l'état 'viewed'
     NotificationResponse updateNotification(Long notificationId, NotificationUpdateRequest notificationUpdateRequest);
 
     void deleteNotificationById(Long notificationId);
+
+    // Opérations groupées sur les notifications de l'utilisateur connecté ; renvoient le nombre de lignes touchées
+    BulkOperationResponse markNotificationsViewed(NotificationBulkRequest request);
+
+    BulkOperationResponse deleteNotifications(NotificationBulkRequest request);
+
+    /**
+     * Notification à créer pour un destinataire.
+     *
+     * @param subject sujet repris dans le libellé groupé (ex: titre du stage), pour les natures regroupables
+     */
+    record Draft(Long recipientId, NotificationKind kind, String subject, String message, String relatedUrl) {
+    }
 }
@@ -0,0 +1,28 @@
+package com.techsolution.ima_backend.services;
+
+import com.techsolution.ima_backend.entities.OutboxEvent;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxService {
+
+    // Enregistre un effet de bord dans la transaction métier en cours (obligatoire)
+    void enqueue(String type, Object payload);
+
+    // Réclame jusqu'à batchSize lignes livrables pour la durée du bail
+    List<OutboxEvent> claim(int batchSize, Duration lease);
+
+    void markDelivered(Collection<Long> ids);
+
+    // Retire la ligne et applique l'effet dans une même transaction ; false (effet ignoré) si elle a déjà été livrée
+    boolean deliverInTransaction(Long id, Runnable effect);
+
+    // Replanifie la ligne après un échec, ou l'abandonne si maxAttempts est atteint ; renvoie true si abandonnée
+    boolean markFailed(OutboxEvent event, String error, int maxAttempts, Duration backoff);
+
+    long countPending();
+
+    Duration oldestPendingAge();
+}
@@ -0,0 +1,21 @@
+package com.techsolution.ima_backend.services;
+
+import com.techsolution.ima_backend.entities.User;
+
+public interface RefreshTokenService {
+
+    // Ouvre une nouvelle famille de refresh tokens (connexion / inscription)
+    String issue(User user);
+
+    // Échange un refresh token (usage unique) contre un nouveau de la même famille
+    Rotation rotate(String refreshToken);
+
+    // Révoque toute la famille du token (déconnexion)
+    void revokeFamily(String refreshToken);
+
+    // Supprime les tokens expirés
+    void purgeExpired();
+
+    record Rotation(User user, String refreshToken) {
+    }
+}
@@ -3,6 +3,7 @@ package com.techsolution.ima_backend.services.impl;
 import com.techsolution.ima_backend.dtos.request.AgreementRequest;
 import com.techsolution.ima_backend.dtos.response.AgreementResponse;
 import com.techsolution.ima_backend.entities.*;
+import com.techsolution.ima_backend.events.AgreementStatusChangedEvent;
 import com.techsolution.ima_backend.exceptions.InvalidAgreementStateException;
 import com.techsolution.ima_backend.exceptions.ResourceNotFoundException;
 import com.techsolution.ima_backend.mappers.AgreementMapper;
@@ -12,6 +13,7 @@ import com.techsolution.ima_backend.repository.TeacherRepository;
 import com.techsolution.ima_backend.services.AgreementService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -30,6 +32,7 @@ public class AgreementServiceImpl implements AgreementService {
     private final AgreementRepository agreementRepository;
     private final ApplicationRepository applicationRepository;
     private final TeacherRepository teacherRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ============================================================
     // 🔒 UTILITAIRE SÉCURITÉ
@@ -58,7 +61,29 @@ public class AgreementServiceImpl implements AgreementService {
         agreement.setCreationDate(LocalDate.now());
         agreement.setStatus(AgreementStatus.DRAFT);
 
-        return agreementRepository.save(agreement);
+        Agreement savedAgreement = agreementRepository.save(agreement);
+        publishStatusChanged(savedAgreement, null);
+        return savedAgreement;
+    }
+
+    // ============================================================
+    // 📣 ÉVÉNEMENT DE TRANSITION (écrit dans l'outbox dans la même transaction, livré après commit)
+    // ============================================================
+    private void publishStatusChanged(Agreement agreement, AgreementStatus previousStatus) {
+        Application application = agreement.getApplication();
+        Internship internship = application.getInternship();
+        Teacher validator = agreement.getValidator();
+
+        eventPublisher.publishEvent(new AgreementStatusChangedEvent(
+                agreement.getId(),
+                application.getId(),
+                internship.getTitle(),
+                previousStatus,
+                agreement.getStatus(),
+                application.getStudent().getUser().getId(),
+                internship.getCompany().getUser().getId(),
+                validator != null ? validator.getUser().getId() : null
+        ));
     }
 
     // ============================================================
@@ -150,6 +175,7 @@ public class AgreementServiceImpl implements AgreementService {
         // 🔁 Transition contrôlée
         if (request.getStatus() == AgreementStatus.PENDING_VALIDATION) {
             agreement.setStatus(AgreementStatus.PENDING_VALIDATION);
+            publishStatusChanged(agreement, AgreementStatus.DRAFT);
             log.info("Agreement [{}] moved to PENDING_VALIDATION", agreementId);
         }
 
@@ -183,6 +209,7 @@ public class AgreementServiceImpl implements AgreementService {
         }
 
         agreement.setStatus(AgreementStatus.VALIDATED);
+        publishStatusChanged(agreement, AgreementStatus.PENDING_VALIDATION);
 
         log.info("Agreement [{}] validated by TEACHER [{}]", agreementId, currentTeacherId);
         return AgreementMapper.toResponseDto(
@@ -196,7 +223,7 @@ public class AgreementServiceImpl implements AgreementService {
     @Override
     @Transactional(readOnly = true)
     public List<AgreementResponse> getAllAgreements() {
-        return agreementRepository.findAll()
+        return agreementRepository.findAllForListing()
                 .stream()
                 .map(AgreementMapper::toResponseDto)
                 .collect(Collectors.toList());
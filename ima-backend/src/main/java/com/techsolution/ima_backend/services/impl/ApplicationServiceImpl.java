@@ -3,6 +3,7 @@ package com.techsolution.ima_backend.services.impl;
 import com.techsolution.ima_backend.dtos.request.ApplicationRequest;
 import com.techsolution.ima_backend.dtos.response.ApplicationResponse;
 import com.techsolution.ima_backend.entities.*;
+import com.techsolution.ima_backend.events.ApplicationSubmittedEvent;
 import com.techsolution.ima_backend.exceptions.ResourceNotFoundException;
 import com.techsolution.ima_backend.mappers.ApplicationMapper;
 import com.techsolution.ima_backend.repository.ApplicationRepository;
@@ -12,6 +13,7 @@ import com.techsolution.ima_backend.services.ApplicationService;
 import com.techsolution.ima_backend.services.FileStorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -31,6 +33,7 @@ public class ApplicationServiceImpl implements ApplicationService {
     private final StudentRepository studentRepository;
     private final InternshipRepository internshipRepository;
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ============================================================
     // 🎓 ÉTUDIANT → postule pour lui-même (JWT)
@@ -68,6 +71,7 @@ public class ApplicationServiceImpl implements ApplicationService {
         application.setApplicationDate(LocalDate.now());
 
         Application savedApplication = applicationRepository.save(application);
+        publishSubmitted(savedApplication);
 
         log.info("Candidature créée avec succès pour l'étudiant ID: {} sur le stage ID: {}",
                 student.getId(), internship.getId());
@@ -126,7 +130,24 @@ public class ApplicationServiceImpl implements ApplicationService {
         application.setApplicationDate(LocalDate.now());
         application.setStatus(ApplicationStatus.PENDING);
 
-        return applicationRepository.save(application);
+        Application savedApplication = applicationRepository.save(application);
+        publishSubmitted(savedApplication);
+        return savedApplication;
+    }
+
+    // NotificationProjector l'écrit dans l'outbox dans cette transaction ; l'entreprise est prévenue après commit
+    private void publishSubmitted(Application application) {
+        User studentUser = application.getStudent().getUser();
+        Internship internship = application.getInternship();
+
+        eventPublisher.publishEvent(new ApplicationSubmittedEvent(
+                application.getId(),
+                internship.getId(),
+                internship.getTitle(),
+                studentUser.getId(),
+                studentUser.getFirstName() + " " + studentUser.getLastName(),
+                internship.getCompany().getUser().getId()
+        ));
     }
 
     // ============================================================
@@ -135,7 +156,8 @@ public class ApplicationServiceImpl implements ApplicationService {
     @Override
     @Transactional(readOnly = true)
     public List<ApplicationResponse> getAllApplications() {
-        return applicationRepository.findAll().stream()
+        // Projection : les candidatures ne sont ni hydratées ni suivies, seulement converties puis sérialisées
+        return applicationRepository.findAllRows().stream()
                 .map(ApplicationMapper::toResponseDto)
                 .collect(Collectors.toList());
     }
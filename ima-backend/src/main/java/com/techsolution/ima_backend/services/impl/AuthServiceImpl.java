@@ -4,19 +4,27 @@ import com.techsolution.ima_backend.dtos.request.UserLoginRequest;
 import com.techsolution.ima_backend.dtos.request.UserRegisterRequest;
 import com.techsolution.ima_backend.dtos.response.AuthResponse;
 import com.techsolution.ima_backend.dtos.response.UserResponse;
+import com.techsolution.ima_backend.entities.CustomUserDetails;
 import com.techsolution.ima_backend.entities.User;
 import com.techsolution.ima_backend.entities.UserRole;
 import com.techsolution.ima_backend.exceptions.DuplicateResourceException;
 import com.techsolution.ima_backend.exceptions.ResourceNotFoundException;
+import com.techsolution.ima_backend.exceptions.TooManyRequestsException;
 import com.techsolution.ima_backend.mappers.UserMapper;
 import com.techsolution.ima_backend.repository.UserRepository;
 import com.techsolution.ima_backend.security.JwtUtil;
+import com.techsolution.ima_backend.security.TokenHashes;
+import com.techsolution.ima_backend.security.TokenRevocationList;
+import com.techsolution.ima_backend.security.VerifiedTokenCache;
 import com.techsolution.ima_backend.services.AuthService;
+import com.techsolution.ima_backend.services.RefreshTokenService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -35,16 +43,27 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final TokenRevocationList revocationList;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RefreshTokenService refreshTokenService;
 
     @Override
     public AuthResponse login(UserLoginRequest userLoginRequest) {
         // 1. Authentification Spring Security
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        userLoginRequest.getEmail(),
-                        userLoginRequest.getPassword()
-                )
-        );
+        try {
+            authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            userLoginRequest.getEmail(),
+                            userLoginRequest.getPassword()
+                    )
+            );
+        } catch (AuthenticationException e) {
+            // Pool BCrypt saturé : le refus 429 ne doit pas se transformer en 401/500 s'il a été emballé
+            if (e.getCause() instanceof TooManyRequestsException tooManyRequests) {
+                throw tooManyRequests;
+            }
+            throw e;
+        }
 
         // 2. Récupération utilisateur
         User user = userRepository.findByEmail(userLoginRequest.getEmail())
@@ -101,6 +120,16 @@ public class AuthServiceImpl implements AuthService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + authentication.getName()));
     }
 
+    @Override
+    public Long getAuthenticatedUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails userDetails)) {
+            throw new AccessDeniedException("User not authenticated");
+        }
+        return userDetails.getUserId();
+    }
+
     @Override
     public UserResponse getAuthenticatedUserResponse() {
         return UserMapper.toResponseDto(getAuthenticatedUserEntity());
@@ -108,16 +137,25 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public AuthResponse refreshToken(String refreshToken) {
-        // 1. Valider le refresh token
-        if (refreshToken != null && jwtUtil.isTokenValid(refreshToken)) {
-            String email = jwtUtil.extractEmail(refreshToken);
-            User user = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-            // 2. Générer une nouvelle paire de tokens
-            return generateAuthResponse(user);
+        // Rotation à usage unique : le token présenté est consommé, un nouveau est émis dans la même famille
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        return generateAuthResponse(rotation.user(), rotation.refreshToken());
+    }
+
+    @Override
+    public void logout(String accessToken, String refreshToken) {
+        if (refreshToken != null) {
+            refreshTokenService.revokeFamily(refreshToken);
+        }
+
+        Claims claims = jwtUtil.parseClaims(accessToken);
+        if (claims == null) {
+            return; // token déjà invalide ou expiré
         }
-        throw new AccessDeniedException("Invalid Refresh Token");
+
+        byte[] digest = TokenHashes.sha256(accessToken);
+        revocationList.revoke(digest, claims.getExpiration().getTime());
+        verifiedTokenCache.invalidate(TokenHashes.toHex(digest));
     }
 
     /**
@@ -125,12 +163,15 @@ public class AuthServiceImpl implements AuthService {
      * Évite la duplication de code entre login, register et refresh.
      */
     private AuthResponse generateAuthResponse(User user) {
+        return generateAuthResponse(user, refreshTokenService.issue(user));
+    }
+
+    private AuthResponse generateAuthResponse(User user, String refreshToken) {
         List<String> roles = user.getRoles().stream()
                 .map(role -> "ROLE_" + role.name())
                 .collect(Collectors.toList());
 
-        String accessToken = jwtUtil.generateToken(user.getEmail(), roles);
-        String refreshToken = jwtUtil.generateRefreshToken(user);
+        String accessToken = jwtUtil.generateToken(user.getId(), user.getEmail(), roles);
 
         return new AuthResponse(
                 accessToken,
@@ -1,20 +1,28 @@
 package com.techsolution.ima_backend.services.impl;
 
+import com.techsolution.ima_backend.cache.InternshipCatalogCache;
 import com.techsolution.ima_backend.dtos.request.CompanyRequest;
 import com.techsolution.ima_backend.dtos.response.CompanyResponse;
+import com.techsolution.ima_backend.dtos.response.InternshipSummaryResponse;
 import com.techsolution.ima_backend.entities.Company;
 import com.techsolution.ima_backend.entities.User;
 import com.techsolution.ima_backend.exceptions.ResourceNotFoundException;
 import com.techsolution.ima_backend.mappers.CompanyMapper;
+import com.techsolution.ima_backend.mappers.InternshipMapper;
 import com.techsolution.ima_backend.repository.CompanyRepository;
+import com.techsolution.ima_backend.repository.InternshipRepository;
 import com.techsolution.ima_backend.repository.UserRepository;
+import com.techsolution.ima_backend.repository.projection.InternshipSummaryRow;
 import com.techsolution.ima_backend.services.CompanyService;
+import com.techsolution.ima_backend.services.InternshipSearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +31,9 @@ public class CompanyServiceImpl implements CompanyService {
 
     private final CompanyRepository companyRepository;
     private final UserRepository userRepository;
+    private final InternshipRepository internshipRepository;
+    private final InternshipSearchService internshipSearchService;
+    private final InternshipCatalogCache internshipCatalogCache;
 
     @Override
     @Transactional
@@ -53,10 +64,14 @@ public class CompanyServiceImpl implements CompanyService {
     @Override
     @Transactional(readOnly = true)
     public List<CompanyResponse> getAllCompanies() {
-        List<Company> companies = companyRepository.findAll();
-
-        return companies.stream()
-                .map(CompanyMapper::toResponseDto)
+        // Deux requêtes par projection (entreprises, puis toutes les offres) au lieu d'entités hydratées
+        Map<Long, List<InternshipSummaryResponse>> internshipsByCompany = internshipRepository.findAllSummaryRows()
+                .stream()
+                .collect(Collectors.groupingBy(InternshipSummaryRow::companyId,
+                        Collectors.mapping(InternshipMapper::toSummaryResponse, Collectors.toList())));
+
+        return companyRepository.findAllRows().stream()
+                .map(row -> CompanyMapper.toResponseDto(row, internshipsByCompany.getOrDefault(row.id(), List.of())))
                 .collect(Collectors.toList());
     }
 
@@ -75,6 +90,9 @@ public class CompanyServiceImpl implements CompanyService {
         Company company = companyRepository.findById(companyId).orElseThrow(()->
                 new ResourceNotFoundException("Company is not exists with given id : " + companyId ));
 
+        // Le nom de l'entreprise est indexé avec chacune de ses offres
+        boolean nameChanged = !Objects.equals(company.getName(), companyRequest.getName());
+
         company.setName(companyRequest.getName());
         company.setAddress(companyRequest.getAddress());
         company.setDescription(companyRequest.getDescription());
@@ -83,6 +101,11 @@ public class CompanyServiceImpl implements CompanyService {
         company.setWebsite(companyRequest.getWebsite());
 
         Company updatedCompany = companyRepository.save(company);
+        // Le résumé de l'entreprise est imbriqué dans chaque offre mise en cache
+        internshipCatalogCache.evictAllAfterCommit();
+        if (nameChanged) {
+            internshipSearchService.reindexCompanyAfterCommit(companyId);
+        }
         return CompanyMapper.toResponseDto(updatedCompany);
     }
 
@@ -92,6 +115,11 @@ public class CompanyServiceImpl implements CompanyService {
         Company company = companyRepository.findById(companyId).orElseThrow(()->
                 new ResourceNotFoundException("Company is not exists with given id : " + companyId ));
 
+        // Les offres sont supprimées en cascade : elles doivent aussi quitter l'index de recherche
+        if (company.getInternships() != null) {
+            company.getInternships().forEach(internship -> internshipSearchService.removeAfterCommit(internship.getId()));
+        }
         companyRepository.delete(company);
+        internshipCatalogCache.evictAllAfterCommit();
     }
 }
@@ -0,0 +1,127 @@
+package com.techsolution.ima_backend.services.impl;
+
+import com.techsolution.ima_backend.dtos.response.ConversationSummaryResponse;
+import com.techsolution.ima_backend.entities.ConversationSummary;
+import com.techsolution.ima_backend.entities.Message;
+import com.techsolution.ima_backend.mappers.ConversationSummaryMapper;
+import com.techsolution.ima_backend.pagination.CursorPage;
+import com.techsolution.ima_backend.pagination.KeysetCursor;
+import com.techsolution.ima_backend.repository.ConversationSummaryRepository;
+import com.techsolution.ima_backend.repository.MessageRepository;
+import com.techsolution.ima_backend.services.AuthService;
+import com.techsolution.ima_backend.services.InboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InboxServiceImpl implements InboxService {
+
+    private final ConversationSummaryRepository conversationSummaryRepository;
+    private final MessageRepository messageRepository;
+    private final AuthService authService;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ConversationSummaryResponse> getInbox(String cursor, int size) {
+        Long currentUserId = authService.getAuthenticatedUserId();
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<ConversationSummary> rows = position == null
+                ? conversationSummaryRepository.findInboxHead(currentUserId, limit)
+                : conversationSummaryRepository.findInboxBefore(currentUserId, position.asDateTime(), position.id(), limit);
+
+        return CursorPage.of(rows, pageSize,
+                summary -> KeysetCursor.of(summary.getLastMessageAt(), summary.getId()),
+                ConversationSummaryMapper::toResponseDto);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onMessageCreated(Message message) {
+        Long senderId = message.getSender().getId();
+        Long recipientId = message.getRecipient().getId();
+        String preview = ConversationSummaryMapper.preview(message.getContent());
+
+        // Ligne de l'expéditeur (pas de non-lu) puis celle du destinataire (+1 non-lu)
+        conversationSummaryRepository.upsertLastMessage(senderId, recipientId, message.getId(), preview,
+                message.getSentDate(), senderId, 0);
+        // Message à soi-même : une seule ligne, déjà à jour
+        if (senderId.equals(recipientId)) {
+            return;
+        }
+        conversationSummaryRepository.upsertLastMessage(recipientId, senderId, message.getId(), preview,
+                message.getSentDate(), senderId, message.isRead() ? 0 : 1);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onMessageUpdated(Message message) {
+        conversationSummaryRepository.updatePreview(message.getSender().getId(), message.getRecipient().getId(),
+                message.getId(), ConversationSummaryMapper.preview(message.getContent()));
+    }
+
+    /**
+     * À appeler après la suppression du message : le dernier message restant
+     * de la conversation est relu pour remplacer l'aperçu.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onMessageDeleted(Message message) {
+        Long senderId = message.getSender().getId();
+        Long recipientId = message.getRecipient().getId();
+
+        if (!message.isRead()) {
+            conversationSummaryRepository.decrementUnread(recipientId, senderId, 1);
+        }
+
+        Optional<Message> latest = Stream.concat(
+                        messageRepository.findConversationHead(senderId, recipientId, Limit.of(1)).stream(),
+                        messageRepository.findConversationHead(recipientId, senderId, Limit.of(1)).stream())
+                .max(Comparator.comparing(Message::getSentDate).thenComparing(Message::getId));
+
+        if (latest.isEmpty()) {
+            conversationSummaryRepository.deleteConversation(senderId, recipientId);
+            return;
+        }
+
+        Message last = latest.get();
+        conversationSummaryRepository.updateLastMessage(senderId, recipientId, last.getId(),
+                ConversationSummaryMapper.preview(last.getContent()), last.getSentDate(), last.getSender().getId());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onMessagesRead(Long ownerId, Long peerId, int count) {
+        if (count > 0) {
+            conversationSummaryRepository.decrementUnread(ownerId, peerId, count);
+        }
+    }
+
+    /**
+     * Initialise la vue pour les messages existants lors du premier démarrage avec cette table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (conversationSummaryRepository.count() > 0 || messageRepository.count() == 0) {
+            return;
+        }
+        int rows = conversationSummaryRepository.rebuildFromMessages();
+        log.info("Boîte de réception initialisée : {} ligne(s) de conversation_summary", rows);
+    }
+}
@@ -0,0 +1,136 @@
+package com.techsolution.ima_backend.services.impl;
+
+import com.techsolution.ima_backend.dtos.response.FacetCountResponse;
+import com.techsolution.ima_backend.dtos.response.InternshipResponse;
+import com.techsolution.ima_backend.dtos.response.InternshipSearchResponse;
+import com.techsolution.ima_backend.dtos.response.ReindexResponse;
+import com.techsolution.ima_backend.entities.Internship;
+import com.techsolution.ima_backend.mappers.InternshipMapper;
+import com.techsolution.ima_backend.pagination.CursorPage;
+import com.techsolution.ima_backend.pagination.KeysetCursor;
+import com.techsolution.ima_backend.repository.InternshipRepository;
+import com.techsolution.ima_backend.search.InternshipDocument;
+import com.techsolution.ima_backend.search.InternshipSearchHit;
+import com.techsolution.ima_backend.search.InternshipSearchIndex;
+import com.techsolution.ima_backend.search.InternshipSearchResult;
+import com.techsolution.ima_backend.services.InternshipSearchService;
+import com.techsolution.ima_backend.support.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InternshipSearchServiceImpl implements InternshipSearchService {
+
+    private static final int REINDEX_BATCH_SIZE = 500;
+
+    private final InternshipSearchIndex internshipSearchIndex;
+    private final InternshipRepository internshipRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public InternshipSearchResponse search(String query, String country, String city, Boolean isPaid,
+                                           String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        InternshipSearchResult result = internshipSearchIndex.search(query, country, city, isPaid,
+                KeysetCursor.decode(cursor), pageSize + 1);
+
+        List<InternshipSearchHit> hits = result.hits();
+        boolean hasNext = hits.size() > pageSize;
+        List<InternshipSearchHit> pageHits = hasNext ? hits.subList(0, pageSize) : hits;
+        String nextCursor = hasNext
+                ? KeysetCursor.of(pageHits.get(pageHits.size() - 1).score(), pageHits.get(pageHits.size() - 1).internshipId()).encode()
+                : null;
+
+        // Un seul chargement des offres de la page, l'ordre de pertinence est conservé
+        Map<Long, Internship> internships = internshipRepository
+                .findAllWithCompanyByIdIn(pageHits.stream().map(InternshipSearchHit::internshipId).toList())
+                .stream()
+                .collect(Collectors.toMap(Internship::getId, Function.identity()));
+
+        List<InternshipResponse> items = pageHits.stream()
+                .map(hit -> internships.get(hit.internshipId()))
+                // Offre supprimée ou désactivée dont la mise à jour n'est pas encore visible dans l'index
+                .filter(internship -> internship != null && Boolean.TRUE.equals(internship.getIsActive()))
+                .map(InternshipMapper::toResponseDto)
+                .toList();
+
+        Map<String, List<FacetCountResponse>> facets = new LinkedHashMap<>();
+        result.facets().forEach((dimension, counts) -> facets.put(dimension, counts.entrySet().stream()
+                .map(entry -> new FacetCountResponse(entry.getKey(), entry.getValue()))
+                .toList()));
+
+        return new InternshipSearchResponse(items, nextCursor, hasNext, result.totalHits(), facets);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReindexResponse reindex() {
+        long start = System.currentTimeMillis();
+        AtomicInteger indexed = new AtomicInteger();
+
+        // Rempli à part puis substitué d'un bloc : la recherche reste complète pendant la reconstruction
+        internshipSearchIndex.rebuild(sink -> {
+            long afterId = 0L;
+            List<InternshipDocument> batch;
+            do {
+                batch = internshipRepository.findSearchDocumentsAfter(afterId, Limit.of(REINDEX_BATCH_SIZE));
+                batch.forEach(sink);
+                indexed.addAndGet(batch.size());
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).id();
+                }
+            } while (batch.size() == REINDEX_BATCH_SIZE);
+        });
+
+        long duration = System.currentTimeMillis() - start;
+        log.info("Index des offres reconstruit : {} offre(s) en {} ms", indexed.get(), duration);
+        return new ReindexResponse(indexed.get(), duration);
+    }
+
+    @Override
+    public void indexAfterCommit(Internship internship) {
+        if (!Boolean.TRUE.equals(internship.getIsActive())) {
+            removeAfterCommit(internship.getId());
+            return;
+        }
+        InternshipDocument document = new InternshipDocument(internship.getId(), internship.getTitle(),
+                internship.getDescription(), internship.getCity(), internship.getCountry(), internship.getIsPaid(),
+                internship.getCompany().getName());
+        AfterCommit.run(() -> internshipSearchIndex.index(document));
+    }
+
+    @Override
+    public void removeAfterCommit(Long internshipId) {
+        AfterCommit.run(() -> internshipSearchIndex.delete(internshipId));
+    }
+
+    @Override
+    public void reindexCompanyAfterCommit(Long companyId) {
+        List<InternshipDocument> documents = internshipRepository.findSearchDocumentsByCompanyId(companyId);
+        AfterCommit.run(() -> documents.forEach(internshipSearchIndex::index));
+    }
+
+    /**
+     * Premier démarrage avec l'index (ou répertoire supprimé) : indexe les offres existantes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfEmpty() {
+        if (internshipSearchIndex.size() == 0 && internshipRepository.count() > 0) {
+            reindex();
+        }
+    }
+}
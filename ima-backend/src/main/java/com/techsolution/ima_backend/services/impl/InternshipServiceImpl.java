@@ -1,17 +1,27 @@
 package com.techsolution.ima_backend.services.impl;
 
+import com.techsolution.ima_backend.cache.InternshipCatalogCache;
 import com.techsolution.ima_backend.dtos.request.InternshipRequest;
+import com.techsolution.ima_backend.dtos.request.InternshipSearchRequest;
+import com.techsolution.ima_backend.dtos.request.InternshipSort;
 import com.techsolution.ima_backend.dtos.response.InternshipResponse;
 import com.techsolution.ima_backend.entities.Company;
 import com.techsolution.ima_backend.entities.CustomUserDetails;
 import com.techsolution.ima_backend.entities.Internship;
 import com.techsolution.ima_backend.mappers.InternshipMapper;
+import com.techsolution.ima_backend.pagination.CursorPage;
+import com.techsolution.ima_backend.pagination.KeysetCursor;
 import com.techsolution.ima_backend.repository.CompanyRepository;
 import com.techsolution.ima_backend.repository.InternshipRepository;
+import com.techsolution.ima_backend.repository.InternshipSpecifications;
+import com.techsolution.ima_backend.services.InternshipSearchService;
 import com.techsolution.ima_backend.services.InternshipService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -30,6 +40,8 @@ public class InternshipServiceImpl implements InternshipService {
 
     private final InternshipRepository internshipRepository;
     private final CompanyRepository companyRepository;
+    private final InternshipSearchService internshipSearchService;
+    private final InternshipCatalogCache internshipCatalogCache;
 
     // --- CRUD: Création ---
     @Override
@@ -59,6 +71,8 @@ public class InternshipServiceImpl implements InternshipService {
         // 2. Lier l'offre à l'entité Company et sauvegarder
         internship.setCompany(company);
         Internship savedInternship = internshipRepository.save(internship);
+        internshipSearchService.indexAfterCommit(savedInternship);
+        internshipCatalogCache.evictAfterCommit(savedInternship.getId());
 
         log.info("Stage créé avec succès par l'utilisateur ID: {}", authenticatedUserId);
 
@@ -69,18 +83,58 @@ public class InternshipServiceImpl implements InternshipService {
     @Override
     @Transactional(readOnly = true)
     public List<InternshipResponse> findAllActiveInternships() {
-        List<Internship> activeInternships = internshipRepository.findByIsActiveTrue();
-        return InternshipMapper.toResponseDtoList(activeInternships);
+        // Lecture en cache ; la base n'est interrogée qu'après une invalidation ou l'expiration
+        // Projection : pas d'entité hydratée ni d'instantané pour une liste seulement sérialisée
+        return internshipCatalogCache.activeCatalog(() -> internshipRepository.findActiveRows().stream()
+                .map(InternshipMapper::toResponseDto)
+                .toList());
+    }
+
+    /**
+     * Préchargement du catalogue au démarrage : la première requête des étudiants ne paie pas la lecture en base.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUpCatalog() {
+        int size = findAllActiveInternships().size();
+        log.info("Catalogue des offres préchargé : {} offre(s) active(s)", size);
+    }
+
+    // --- Recherche filtrée (pagination par curseur) ---
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<InternshipResponse> searchInternships(InternshipSearchRequest criteria, String cursor, int size) {
+        InternshipSort sort = criteria.getSort() != null ? criteria.getSort() : InternshipSort.START_DATE_ASC;
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = CursorPage.clampSize(size);
+
+        Specification<Internship> specification = InternshipSpecifications.search(criteria)
+                .and(InternshipSpecifications.fetchCompany());
+        if (position != null) {
+            specification = specification.and(InternshipSpecifications.after(sort, position));
+        }
+
+        // size + 1 lignes, sans count(*) : la ligne en trop indique seulement qu'une page suivante existe
+        List<Internship> rows = internshipRepository.findBy(specification, query -> query
+                .sortBy(InternshipSpecifications.sortOf(sort))
+                .limit(pageSize + 1)
+                .all());
+
+        return CursorPage.of(rows, pageSize,
+                internship -> InternshipSpecifications.cursorOf(sort, internship),
+                InternshipMapper::toResponseDto);
     }
 
     // --- CRUD: Lecture (Par ID) ---
     @Override
     @Transactional(readOnly = true)
     public InternshipResponse findInternshipById(Long internshipId) {
-        Internship internship = internshipRepository.findById(internshipId)
-                .orElseThrow(() -> new EntityNotFoundException("Internship offer not found with ID: " + internshipId));
+        return internshipCatalogCache.byId(internshipId, id -> {
+            Internship internship = internshipRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Internship offer not found with ID: " + id));
 
-        return InternshipMapper.toResponseDto(internship);
+            return InternshipMapper.toResponseDto(internship);
+        });
     }
 
     // --- CRUD: Mise à Jour ---
@@ -112,6 +166,9 @@ public class InternshipServiceImpl implements InternshipService {
         existingInternship.setIsPaid(request.getIsPaid());
 
         Internship updatedInternship = internshipRepository.save(existingInternship);
+        // Une offre repassée inactive est retirée de l'index
+        internshipSearchService.indexAfterCommit(updatedInternship);
+        internshipCatalogCache.evictAfterCommit(internshipId);
         return InternshipMapper.toResponseDto(updatedInternship);
     }
 
@@ -136,6 +193,8 @@ public class InternshipServiceImpl implements InternshipService {
         // Désactivation
         existingInternship.setIsActive(false);
         internshipRepository.save(existingInternship);
+        internshipSearchService.removeAfterCommit(internshipId);
+        internshipCatalogCache.evictAfterCommit(internshipId);
     }
 
     /**
@@ -0,0 +1,124 @@
+package com.techsolution.ima_backend.services.impl;
+
+import com.techsolution.ima_backend.dtos.response.MessageSearchResultResponse;
+import com.techsolution.ima_backend.dtos.response.ReindexResponse;
+import com.techsolution.ima_backend.entities.Message;
+import com.techsolution.ima_backend.mappers.MessageMapper;
+import com.techsolution.ima_backend.pagination.CursorPage;
+import com.techsolution.ima_backend.pagination.KeysetCursor;
+import com.techsolution.ima_backend.repository.MessageRepository;
+import com.techsolution.ima_backend.search.MessageDocument;
+import com.techsolution.ima_backend.search.MessageSearchHit;
+import com.techsolution.ima_backend.search.MessageSearchIndex;
+import com.techsolution.ima_backend.services.AuthService;
+import com.techsolution.ima_backend.services.MessageSearchService;
+import com.techsolution.ima_backend.support.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessageSearchServiceImpl implements MessageSearchService {
+
+    private static final int REINDEX_BATCH_SIZE = 500;
+
+    private final MessageSearchIndex messageSearchIndex;
+    private final MessageRepository messageRepository;
+    private final AuthService authService;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<MessageSearchResultResponse> search(String query, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            return new CursorPage<>(List.of(), null, false);
+        }
+
+        Long currentUserId = authService.getAuthenticatedUserId();
+        int pageSize = CursorPage.clampSize(size);
+        List<MessageSearchHit> hits = messageSearchIndex.search(currentUserId, query, KeysetCursor.decode(cursor), pageSize + 1);
+
+        boolean hasNext = hits.size() > pageSize;
+        List<MessageSearchHit> pageHits = hasNext ? hits.subList(0, pageSize) : hits;
+        String nextCursor = hasNext
+                ? KeysetCursor.of(pageHits.get(pageHits.size() - 1).score(), pageHits.get(pageHits.size() - 1).messageId()).encode()
+                : null;
+
+        // Un seul chargement des messages de la page, l'ordre de pertinence est conservé
+        Map<Long, Message> messages = messageRepository
+                .findAllWithParticipantsByIdIn(pageHits.stream().map(MessageSearchHit::messageId).toList())
+                .stream()
+                .collect(Collectors.toMap(Message::getId, Function.identity()));
+
+        List<MessageSearchResultResponse> items = pageHits.stream()
+                .map(hit -> {
+                    Message message = messages.get(hit.messageId());
+                    // Message supprimé dont la suppression n'est pas encore visible dans l'index
+                    return message == null ? null
+                            : new MessageSearchResultResponse(MessageMapper.toResponseDto(message), hit.highlight());
+                })
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new CursorPage<>(items, nextCursor, hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReindexResponse reindex() {
+        long start = System.currentTimeMillis();
+        AtomicInteger indexed = new AtomicInteger();
+
+        // Rempli à part puis substitué d'un bloc : la recherche reste complète pendant la reconstruction
+        messageSearchIndex.rebuild(sink -> {
+            long afterId = 0L;
+            List<MessageDocument> batch;
+            do {
+                batch = messageRepository.findSearchDocumentsAfter(afterId, Limit.of(REINDEX_BATCH_SIZE));
+                batch.forEach(sink);
+                indexed.addAndGet(batch.size());
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).id();
+                }
+            } while (batch.size() == REINDEX_BATCH_SIZE);
+        });
+
+        long duration = System.currentTimeMillis() - start;
+        log.info("Index des messages reconstruit : {} message(s) en {} ms", indexed.get(), duration);
+        return new ReindexResponse(indexed.get(), duration);
+    }
+
+    @Override
+    public void indexAfterCommit(Message message) {
+        MessageDocument document = new MessageDocument(message.getId(), message.getSender().getId(),
+                message.getRecipient().getId(), message.getSentDate(), message.getContent());
+        AfterCommit.run(() -> messageSearchIndex.index(document));
+    }
+
+    @Override
+    public void removeAfterCommit(Long messageId) {
+        AfterCommit.run(() -> messageSearchIndex.delete(messageId));
+    }
+
+    /**
+     * Premier démarrage avec l'index (ou répertoire supprimé) : indexe les messages existants.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfEmpty() {
+        if (messageSearchIndex.size() == 0 && messageRepository.count() > 0) {
+            reindex();
+        }
+    }
+}
@@ -2,32 +2,65 @@ package com.techsolution.ima_backend.services.impl;
 
 import com.techsolution.ima_backend.dtos.request.MessageRequest;
 import com.techsolution.ima_backend.dtos.response.MessageResponse;
+import com.techsolution.ima_backend.dtos.response.PresenceResponse;
+import com.techsolution.ima_backend.dtos.response.ReadReceiptResponse;
 import com.techsolution.ima_backend.entities.Message;
 import com.techsolution.ima_backend.entities.User;
+import com.techsolution.ima_backend.exceptions.BadRequestException;
 import com.techsolution.ima_backend.exceptions.ResourceNotFoundException;
 import com.techsolution.ima_backend.mappers.MessageMapper;
+import com.techsolution.ima_backend.outbox.WebSocketPush;
+import com.techsolution.ima_backend.outbox.WebSocketPushHandler;
+import com.techsolution.ima_backend.pagination.CursorPage;
+import com.techsolution.ima_backend.pagination.KeysetCursor;
+import com.techsolution.ima_backend.repository.ConversationSummaryRepository;
 import com.techsolution.ima_backend.repository.MessageRepository;
 import com.techsolution.ima_backend.repository.UserRepository;
 import com.techsolution.ima_backend.services.AuthService;
+import com.techsolution.ima_backend.services.InboxService;
+import com.techsolution.ima_backend.services.MessageSearchService;
 import com.techsolution.ima_backend.services.MessageService;
+import com.techsolution.ima_backend.services.OutboxService;
+import com.techsolution.ima_backend.websocket.WebSocketSessionRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
 
 @Service
 @RequiredArgsConstructor
 public class MessageServiceImpl implements MessageService {
 
+    // Destinations côté client : /user/queue/messages et /user/queue/messages/deleted
+    private static final String MESSAGES_QUEUE = "/queue/messages";
+    private static final String DELETED_MESSAGES_QUEUE = "/queue/messages/deleted";
+    private static final String READ_RECEIPTS_QUEUE = "/queue/messages/read";
+
+    private static final Comparator<Message> NEWEST_FIRST = Comparator
+            .comparing(Message::getSentDate)
+            .thenComparing(Message::getId)
+            .reversed();
+
     private final MessageRepository messageRepository;
+    private final ConversationSummaryRepository conversationSummaryRepository;
     private final UserRepository userRepository;
     private final AuthService authService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final OutboxService outboxService;
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final InboxService inboxService;
+    private final MessageSearchService messageSearchService;
 
     @Override
     @Transactional
@@ -56,11 +89,17 @@ public class MessageServiceImpl implements MessageService {
         // 5️⃣ Sauvegarde
         Message savedMessage = messageRepository.save(message);
 
-        // Notification WebSocket pour le destinataire
-        messagingTemplate.convertAndSend("/topic/messages", MessageMapper.toResponseDto(savedMessage));
+        // Vue boîte de réception (dernier message + non-lus), même transaction
+        inboxService.onMessageCreated(savedMessage);
+        messageSearchService.indexAfterCommit(savedMessage);
+
+        MessageResponse response = MessageMapper.toResponseDto(savedMessage);
+
+        // Notification WebSocket ciblée : destinataire + autres sessions de l'expéditeur
+        sendToParticipants(savedMessage, MESSAGES_QUEUE, response);
 
         // 6️⃣ Retour DTO
-        return MessageMapper.toResponseDto(savedMessage);
+        return response;
     }
 
     @Override
@@ -71,6 +110,40 @@ public class MessageServiceImpl implements MessageService {
         return messages.map(MessageMapper::toResponseDto);
     }
 
+    /**
+     * Pagination par curseur sur (sentDate, id) sans count(*). Chaque sens de la conversation
+     * est lu par un parcours d'index (sender_id, recipient_id, sent_date, id) limité à size + 1
+     * lignes, puis les deux flux déjà triés sont fusionnés.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<MessageResponse> getConversation(Long peerId, String cursor, int size) {
+        Long currentUserId = authService.getAuthenticatedUserId();
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Message> sent = findConversationPage(currentUserId, peerId, position, limit);
+        List<Message> received = findConversationPage(peerId, currentUserId, position, limit);
+
+        List<Message> merged = Stream.concat(sent.stream(), received.stream())
+                .sorted(NEWEST_FIRST)
+                .limit(pageSize + 1L)
+                .toList();
+
+        return CursorPage.of(merged, pageSize,
+                message -> KeysetCursor.of(message.getSentDate(), message.getId()),
+                MessageMapper::toResponseDto);
+    }
+
+    private List<Message> findConversationPage(Long senderId, Long recipientId, KeysetCursor position, Limit limit) {
+        if (position == null) {
+            return messageRepository.findConversationHead(senderId, recipientId, limit);
+        }
+        return messageRepository.findConversationBefore(senderId, recipientId,
+                position.asDateTime(), position.id(), limit);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public MessageResponse getMessageById(Long messageId) {
@@ -105,11 +178,15 @@ public class MessageServiceImpl implements MessageService {
         message.setContent(messageRequest.getContent());
 
         Message savedMessage = messageRepository.save(message);
+        inboxService.onMessageUpdated(savedMessage);
+        messageSearchService.indexAfterCommit(savedMessage);
+
+        MessageResponse response = MessageMapper.toResponseDto(savedMessage);
 
-        // Notification WebSocket
-        messagingTemplate.convertAndSend("/topic/messages", MessageMapper.toResponseDto(savedMessage));
+        // Notification WebSocket ciblée
+        sendToParticipants(savedMessage, MESSAGES_QUEUE, response);
 
-        return MessageMapper.toResponseDto(savedMessage);
+        return response;
     }
 
     @Override
@@ -125,10 +202,80 @@ public class MessageServiceImpl implements MessageService {
         }
 
         messageRepository.deleteById(messageId);
+        inboxService.onMessageDeleted(message);
+        messageSearchService.removeAfterCommit(messageId);
 
         // Notification WebSocket uniquement avec l'ID
-        messagingTemplate.convertAndSend("/topic/messages/deleted", messageId);
+        sendToParticipants(message, DELETED_MESSAGES_QUEUE, messageId);
+
+    }
 
+    /**
+     * Un seul UPDATE pour toute la conversation, compteur de non-lus ajusté dans la même
+     * transaction et un seul accusé de lecture envoyé à l'expéditeur.
+     */
+    @Override
+    @Transactional
+    public ReadReceiptResponse markConversationRead(Long peerId, Long upToMessageId) {
+        Long currentUserId = authService.getAuthenticatedUserId();
+        User peer = userRepository.findById(peerId)
+                .orElseThrow(() -> new ResourceNotFoundException("User is not exists with given id : " + peerId));
+
+        int marked;
+        if (upToMessageId == null) {
+            marked = messageRepository.markAllRead(peerId, currentUserId);
+        } else {
+            Message upTo = messageRepository.findById(upToMessageId).orElseThrow(() ->
+                    new ResourceNotFoundException("Message is not exist with given id : " + upToMessageId));
+            if (!upTo.getSender().getId().equals(peerId) || !upTo.getRecipient().getId().equals(currentUserId)) {
+                throw new BadRequestException("Le message " + upToMessageId + " n'appartient pas à cette conversation");
+            }
+            marked = messageRepository.markReadUpTo(peerId, currentUserId, upTo.getSentDate(), upTo.getId());
+        }
+
+        inboxService.onMessagesRead(currentUserId, peerId, marked);
+
+        ReadReceiptResponse receipt = new ReadReceiptResponse(currentUserId, upToMessageId, marked, LocalDateTime.now());
+        if (marked > 0) {
+            outboxService.enqueue(WebSocketPushHandler.TYPE, new WebSocketPush(peer.getEmail(), READ_RECEIPTS_QUEUE, receipt));
+        }
+        return receipt;
+    }
+
+    /**
+     * La présence n'est visible que des interlocuteurs (une conversation existe entre les deux
+     * utilisateurs) et des administrateurs, pour ne pas exposer l'activité de n'importe quel compte.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PresenceResponse getPresence(Long userId) {
+        Long currentUserId = authService.getAuthenticatedUserId();
+        if (!currentUserId.equals(userId)
+                && !isAdmin()
+                && !conversationSummaryRepository.existsByOwnerIdAndPeerId(currentUserId, userId)) {
+            throw new AccessDeniedException("Vous n'avez pas de conversation avec cet utilisateur");
+        }
+        return new PresenceResponse(userId, sessionRegistry.isOnline(userId));
+    }
+
+    private boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    }
+
+    /**
+     * Envoie le payload sur /user/{queue} de l'expéditeur et du destinataire uniquement,
+     * au lieu d'une diffusion à toutes les sessions connectées.
+     * L'envoi passe par l'outbox : rien n'est diffusé si la transaction est annulée,
+     * et l'écriture sur les sockets ne prolonge pas la transaction.
+     * Un message à soi-même n'est poussé qu'une fois.
+     */
+    private void sendToParticipants(Message message, String queue, Object payload) {
+        outboxService.enqueue(WebSocketPushHandler.TYPE, new WebSocketPush(message.getRecipient().getEmail(), queue, payload));
+        if (!message.getSender().getId().equals(message.getRecipient().getId())) {
+            outboxService.enqueue(WebSocketPushHandler.TYPE, new WebSocketPush(message.getSender().getEmail(), queue, payload));
+        }
     }
 
 }
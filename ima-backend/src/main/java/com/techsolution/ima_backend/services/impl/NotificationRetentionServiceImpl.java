@@ -0,0 +1,146 @@
+package com.techsolution.ima_backend.services.impl;
+
+import com.techsolution.ima_backend.dtos.response.RetentionReportResponse;
+import com.techsolution.ima_backend.repository.NotificationRepository;
+import com.techsolution.ima_backend.repository.NotificationRepository.RetentionKey;
+import com.techsolution.ima_backend.services.NotificationRetentionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rétention des notifications : parcours par curseur (date, id) de l'index (is_viewed, notification_date, id)
+ * et suppression par lots bornés, chaque lot dans sa propre transaction courte pour ne jamais
+ * verrouiller une grande plage de la table.
+ */
+@Slf4j
+@Service
+public class NotificationRetentionServiceImpl implements NotificationRetentionService {
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer runTimer;
+
+    // Durées de conservation en jours, 0 pour conserver indéfiniment
+    private final int viewedRetentionDays;
+    private final int unviewedRetentionDays;
+    private final int chunkSize;
+    private final long pauseMs;
+    private final boolean archive;
+
+    // Un seul passage à la fois (planifié ou déclenché par un administrateur)
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public NotificationRetentionServiceImpl(
+            NotificationRepository notificationRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${notifications.retention.viewed-days:90}") int viewedRetentionDays,
+            @Value("${notifications.retention.unviewed-days:365}") int unviewedRetentionDays,
+            @Value("${notifications.retention.chunk-size:1000}") int chunkSize,
+            @Value("${notifications.retention.pause-ms:50}") long pauseMs,
+            @Value("${notifications.retention.archive:false}") boolean archive) {
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.viewedRetentionDays = viewedRetentionDays;
+        this.unviewedRetentionDays = unviewedRetentionDays;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.archive = archive;
+
+        this.runTimer = Timer.builder("notifications.retention.run")
+                .description("Durée d'un passage de rétention des notifications")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+    public void scheduledPurge() {
+        purge();
+    }
+
+    @Override
+    public RetentionReportResponse purge() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Rétention des notifications déjà en cours, passage ignoré");
+            return new RetentionReportResponse(0, 0, archive, 0);
+        }
+        long start = System.nanoTime();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            long viewedPurged = viewedRetentionDays > 0 ? purge(true, now.minusDays(viewedRetentionDays)) : 0;
+            long unviewedPurged = unviewedRetentionDays > 0 ? purge(false, now.minusDays(unviewedRetentionDays)) : 0;
+
+            long durationNanos = System.nanoTime() - start;
+            runTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+            log.info("Rétention des notifications : {} vue(s) et {} non vue(s) {} en {} ms",
+                    viewedPurged, unviewedPurged, archive ? "archivée(s)" : "supprimée(s)", durationMs);
+            return new RetentionReportResponse(viewedPurged, unviewedPurged, archive, durationMs);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private long purge(boolean viewed, LocalDateTime cutoff) {
+        Counter purgedCounter = Counter.builder("notifications.retention.purged")
+                .tag("state", viewed ? "viewed" : "unviewed")
+                .tag("mode", archive ? "archive" : "delete")
+                .description("Notifications retirées par la rétention")
+                .register(meterRegistry);
+
+        long total = 0;
+        RetentionKey last = null;
+        List<RetentionKey> chunk;
+        do {
+            chunk = last == null
+                    ? notificationRepository.findExpiredHead(viewed, cutoff, Limit.of(chunkSize))
+                    : notificationRepository.findExpiredAfter(viewed, cutoff, last.getNotificationDate(), last.getId(),
+                    Limit.of(chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            List<Long> ids = chunk.stream().map(RetentionKey::getId).toList();
+            Integer deleted = transactionTemplate.execute(status -> {
+                if (archive) {
+                    notificationRepository.archiveByIds(ids, viewed, cutoff, LocalDateTime.now());
+                }
+                return notificationRepository.deleteByIds(ids, viewed, cutoff);
+            });
+            int purged = deleted != null ? deleted : 0;
+            total += purged;
+            purgedCounter.increment(purged);
+
+            last = chunk.get(chunk.size() - 1);
+            pause();
+        } while (chunk.size() == chunkSize);
+
+        return total;
+    }
+
+    // Laisse respirer la base (réplication, requêtes concurrentes) entre deux lots
+    private void pause() {
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
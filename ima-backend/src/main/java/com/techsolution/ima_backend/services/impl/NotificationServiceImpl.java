@@ -1,27 +1,59 @@
 package com.techsolution.ima_backend.services.impl;
 
+import com.techsolution.ima_backend.dtos.request.NotificationBulkRequest;
 import com.techsolution.ima_backend.dtos.request.NotificationUpdateRequest;
+import com.techsolution.ima_backend.dtos.response.BulkOperationResponse;
 import com.techsolution.ima_backend.dtos.response.NotificationResponse;
+import com.techsolution.ima_backend.dtos.response.UnreadCountResponse;
 import com.techsolution.ima_backend.entities.Notification;
+import com.techsolution.ima_backend.entities.NotificationKind;
 import com.techsolution.ima_backend.entities.User;
+import com.techsolution.ima_backend.exceptions.BadRequestException;
+import com.techsolution.ima_backend.exceptions.InvalidCursorException;
 import com.techsolution.ima_backend.exceptions.ResourceNotFoundException;
 import com.techsolution.ima_backend.mappers.NotificationMapper;
+import com.techsolution.ima_backend.outbox.WebSocketPush;
+import com.techsolution.ima_backend.outbox.WebSocketPushHandler;
+import com.techsolution.ima_backend.pagination.CursorPage;
+import com.techsolution.ima_backend.pagination.KeysetCursor;
 import com.techsolution.ima_backend.repository.NotificationRepository;
 import com.techsolution.ima_backend.repository.UserRepository;
+import com.techsolution.ima_backend.services.AuthService;
 import com.techsolution.ima_backend.services.NotificationService;
+import com.techsolution.ima_backend.services.OutboxService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
 
+    private static final String NOTIFICATIONS_QUEUE = "/queue/notifications";
+    private static final int MAX_BULK_IDS = 1000;
+
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final AuthService authService;
+    private final OutboxService outboxService;
+
+    // Fenêtre de regroupement des notifications de même nature sur la même ressource
+    @Value("${notifications.coalesce.window-ms:300000}")
+    private long coalesceWindowMs;
 
 
     @Override
@@ -38,20 +70,125 @@ public class NotificationServiceImpl implements NotificationService {
         );
 
         Notification savedNotification = notificationRepository.save(newNotification);
+        return enqueuePush(savedNotification);
+    }
+
+    @Override
+    @Transactional
+    public List<NotificationResponse> createSystemNotifications(List<Draft> drafts) {
+        if (drafts.isEmpty()) {
+            return List.of();
+        }
+
+        // Destinataires verrouillés jusqu'au commit : deux dispatchers qui regroupent pour le même
+        // destinataire passent l'un après l'autre (ni incrément perdu, ni double création)
+        Map<Long, User> recipients = userRepository.lockAllByIdIn(
+                        drafts.stream().map(Draft::recipientId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        // Une notification regroupée plusieurs fois dans le lot n'est poussée qu'une fois, dans son dernier état
+        Map<Long, Notification> written = new LinkedHashMap<>();
+        for (Draft draft : drafts) {
+            User recipient = recipients.get(draft.recipientId());
+            if (recipient == null) {
+                log.warn("Notification ignorée : destinataire {} introuvable", draft.recipientId());
+                continue;
+            }
+            Notification notification = coalesceOrCreate(draft, recipient);
+            written.put(notification.getId(), notification);
+        }
+
+        return written.values().stream()
+                .map(this::enqueuePush)
+                .toList();
+    }
+
+    /**
+     * Regroupe le brouillon avec la notification non vue la plus récente de même nature et de même
+     * ressource dans la fenêtre : compteur incrémenté, libellé groupé, remontée en tête du fil.
+     * Sinon, crée une nouvelle notification.
+     */
+    private Notification coalesceOrCreate(Draft draft, User recipient) {
+        NotificationKind kind = draft.kind() != null ? draft.kind() : NotificationKind.SYSTEM;
+        LocalDateTime now = LocalDateTime.now();
+
+        if (kind.isCoalescable() && draft.relatedUrl() != null) {
+            List<Notification> candidates = notificationRepository.findCoalescable(recipient.getId(), kind,
+                    draft.relatedUrl(), now.minus(Duration.ofMillis(coalesceWindowMs)), Limit.of(1));
+            if (!candidates.isEmpty()) {
+                Notification existing = candidates.get(0);
+                existing.setOccurrences(existing.getOccurrences() + 1);
+                existing.setMessage(kind.countedMessage(existing.getOccurrences(), draft.subject()));
+                existing.setNotificationDate(now);
+                return existing;
+            }
+        }
 
-        return NotificationMapper.toResponseDto(savedNotification);
+        return notificationRepository.save(
+                NotificationMapper.createNewEntity(kind, draft.message(), draft.relatedUrl(), recipient));
+    }
+
+    /**
+     * Push vers /user/queue/notifications via l'outbox, livré une fois la ligne validée ;
+     * la ligne reste la référence hors ligne.
+     */
+    private NotificationResponse enqueuePush(Notification notification) {
+        NotificationResponse response = NotificationMapper.toResponseDto(notification);
+        outboxService.enqueue(WebSocketPushHandler.TYPE,
+                new WebSocketPush(notification.getUser().getEmail(), NOTIFICATIONS_QUEUE, response));
+        return response;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<NotificationResponse> getAllNotifications() {
-        List<Notification> notifications = notificationRepository.findAll();
+        Long currentUserId = authService.getAuthenticatedUserId();
+        List<Notification> notifications = notificationRepository.findAllByUserIdOrderByNotificationDateDescIdDesc(currentUserId);
 
         return notifications.stream()
                 .map(NotificationMapper::toResponseDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationResponse> getNotificationFeed(String cursor, int size) {
+        Long currentUserId = authService.getAuthenticatedUserId();
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Notification> rows = position == null
+                ? notificationRepository.findFeedHead(currentUserId, limit)
+                : notificationRepository.findFeedBefore(currentUserId, position.asDateTime(), position.id(), limit);
+
+        return CursorPage.of(rows, pageSize, NotificationMapper::cursorOf, NotificationMapper::toResponseDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationResponse> getNotificationsSince(String cursor, int size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        if (position == null) {
+            throw new InvalidCursorException("Curseur requis");
+        }
+        Long currentUserId = authService.getAuthenticatedUserId();
+        int pageSize = CursorPage.clampSize(size);
+
+        List<Notification> rows = notificationRepository.findFeedAfter(currentUserId, position.asDateTime(),
+                position.id(), Limit.of(pageSize + 1));
+
+        return CursorPage.of(rows, pageSize, NotificationMapper::cursorOf, NotificationMapper::toResponseDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UnreadCountResponse getUnreadCount() {
+        Long currentUserId = authService.getAuthenticatedUserId();
+        return new UnreadCountResponse(notificationRepository.countUnviewedByUserId(currentUserId));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public NotificationResponse getNotificationById(Long notificationId) {
@@ -82,4 +219,67 @@ public class NotificationServiceImpl implements NotificationService {
 
         notificationRepository.deleteById(notificationId);
     }
+
+    @Override
+    @Transactional
+    public BulkOperationResponse markNotificationsViewed(NotificationBulkRequest request) {
+        Long currentUserId = authService.getAuthenticatedUserId();
+
+        int marked;
+        if (hasIds(request)) {
+            marked = notificationRepository.markViewedByIds(currentUserId, request.getIds());
+        } else {
+            KeysetCursor upTo = KeysetCursor.decode(request != null ? request.getUpTo() : null);
+            marked = upTo == null
+                    ? notificationRepository.markAllViewed(currentUserId)
+                    : notificationRepository.markViewedUpTo(currentUserId, upTo.asDateTime(), upTo.id());
+        }
+        return new BulkOperationResponse(marked);
+    }
+
+    /**
+     * Suppression groupée ; exige une sélection explicite (identifiants ou curseur)
+     * pour qu'une requête vide ne vide pas tout l'historique.
+     */
+    @Override
+    @Transactional
+    public BulkOperationResponse deleteNotifications(NotificationBulkRequest request) {
+        Long currentUserId = authService.getAuthenticatedUserId();
+
+        int deleted;
+        if (hasIds(request)) {
+            deleted = notificationRepository.deleteOwnedByIds(currentUserId, request.getIds());
+        } else {
+            KeysetCursor upTo = KeysetCursor.decode(request != null ? request.getUpTo() : null);
+            if (upTo == null) {
+                throw new BadRequestException("Identifiants ou curseur requis");
+            }
+            deleted = notificationRepository.deleteOwnedUpTo(currentUserId, upTo.asDateTime(), upTo.id());
+        }
+        return new BulkOperationResponse(deleted);
+    }
+
+    private static boolean hasIds(NotificationBulkRequest request) {
+        if (request == null || request.getIds() == null || request.getIds().isEmpty()) {
+            return false;
+        }
+        if (request.getIds().size() > MAX_BULK_IDS) {
+            throw new BadRequestException("Au plus " + MAX_BULK_IDS + " identifiants par requête");
+        }
+        return true;
+    }
+
+    /**
+     * Les notifications créées avant l'ajout de la colonne kind ont une nature NULL, jamais
+     * regroupée : elles deviennent SYSTEM, qui a le même comportement, pour que l'API et
+     * les requêtes de regroupement n'aient plus à traiter ce cas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillKind() {
+        int rows = notificationRepository.assignMissingKind(NotificationKind.SYSTEM);
+        if (rows > 0) {
+            log.info("Nature SYSTEM attribuée à {} notification(s) antérieure(s)", rows);
+        }
+    }
 }
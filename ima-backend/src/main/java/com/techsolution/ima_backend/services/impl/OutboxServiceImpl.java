@@ -0,0 +1,111 @@
+package com.techsolution.ima_backend.services.impl;
+
+import com.techsolution.ima_backend.entities.OutboxEvent;
+import com.techsolution.ima_backend.entities.OutboxStatus;
+import com.techsolution.ima_backend.events.OutboxEnqueuedEvent;
+import com.techsolution.ima_backend.repository.OutboxEventRepository;
+import com.techsolution.ima_backend.services.OutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final JsonMapper jsonMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String type, Object payload) {
+        LocalDateTime now = LocalDateTime.now();
+
+        OutboxEvent event = new OutboxEvent();
+        event.setType(type);
+        event.setPayload(jsonMapper.writeValueAsString(payload));
+        event.setStatus(OutboxStatus.PENDING);
+        event.setAvailableAt(now);
+        event.setCreatedAt(now);
+        outboxEventRepository.save(event);
+
+        eventPublisher.publishEvent(new OutboxEnqueuedEvent(type));
+    }
+
+    /**
+     * Verrouillage SKIP LOCKED puis bail posé dans la même transaction courte : le verrou est
+     * relâché avant la livraison, et une instance qui s'arrête en pleine livraison ne bloque
+     * ses lignes que jusqu'à l'expiration du bail.
+     */
+    @Override
+    @Transactional
+    public List<OutboxEvent> claim(int batchSize, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = outboxEventRepository.lockAvailableIds(now, batchSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        outboxEventRepository.lease(ids, now.plus(lease));
+        return outboxEventRepository.findAllByIdInOrderByIdAsc(ids);
+    }
+
+    @Override
+    @Transactional
+    public void markDelivered(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            outboxEventRepository.deleteDelivered(ids);
+        }
+    }
+
+    /**
+     * Le DELETE verrouille la ligne : une livraison concurrente (bail expiré) attend le commit,
+     * ne supprime plus rien et n'applique pas l'effet une seconde fois. Si l'effet échoue,
+     * la suppression est annulée avec lui et la ligne reste à replanifier.
+     */
+    @Override
+    @Transactional
+    public boolean deliverInTransaction(Long id, Runnable effect) {
+        if (outboxEventRepository.deleteDelivered(List.of(id)) == 0) {
+            return false;
+        }
+        effect.run();
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public boolean markFailed(OutboxEvent event, String error, int maxAttempts, Duration backoff) {
+        boolean abandoned = event.getAttempts() >= maxAttempts;
+        String lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+
+        outboxEventRepository.reschedule(event.getId(),
+                abandoned ? OutboxStatus.FAILED : OutboxStatus.PENDING,
+                LocalDateTime.now().plus(backoff),
+                lastError);
+        return abandoned;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countPending() {
+        return outboxEventRepository.countByStatus(OutboxStatus.PENDING);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Duration oldestPendingAge() {
+        LocalDateTime oldest = outboxEventRepository.findOldestCreatedAtByStatus(OutboxStatus.PENDING);
+        return oldest != null ? Duration.between(oldest, LocalDateTime.now()) : Duration.ZERO;
+    }
+}
@@ -0,0 +1,95 @@
+package com.techsolution.ima_backend.services.impl;
+
+import com.techsolution.ima_backend.entities.RefreshToken;
+import com.techsolution.ima_backend.entities.User;
+import com.techsolution.ima_backend.repository.RefreshTokenRepository;
+import com.techsolution.ima_backend.security.JwtUtil;
+import com.techsolution.ima_backend.security.TokenHashes;
+import com.techsolution.ima_backend.services.RefreshTokenService;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtUtil jwtUtil;
+
+    @Override
+    @Transactional
+    public String issue(User user) {
+        return createToken(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * La révocation de la famille en cas de réutilisation doit être validée
+     * même si l'appel se termine par un refus.
+     */
+    @Override
+    @Transactional(noRollbackFor = AccessDeniedException.class)
+    public Rotation rotate(String refreshToken) {
+        RefreshToken current = findValid(refreshToken);
+
+        if (refreshTokenRepository.consume(current.getId()) == 0) {
+            // Token déjà échangé : il a fuité, on coupe toute la session
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId());
+            log.warn("Réutilisation d'un refresh token (user {}), famille {} révoquée ({} token(s))",
+                    current.getUser().getId(), current.getFamilyId(), revoked);
+            throw new AccessDeniedException("Refresh token reuse detected");
+        }
+
+        User user = current.getUser();
+        return new Rotation(user, createToken(user, current.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revokeFamily(String refreshToken) {
+        Claims claims = jwtUtil.parseClaims(refreshToken);
+        if (claims == null) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHashWithUser(TokenHashes.sha256Hex(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${security.jwt.refresh-purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.debug("{} refresh token(s) expiré(s) supprimé(s)", deleted);
+        }
+    }
+
+    private RefreshToken findValid(String refreshToken) {
+        Claims claims = refreshToken != null ? jwtUtil.parseClaims(refreshToken) : null;
+        if (claims == null || !JwtUtil.TYPE_REFRESH.equals(claims.get(JwtUtil.CLAIM_TYPE, String.class))) {
+            throw new AccessDeniedException("Invalid Refresh Token");
+        }
+        return refreshTokenRepository.findByTokenHashWithUser(TokenHashes.sha256Hex(refreshToken))
+                .orElseThrow(() -> new AccessDeniedException("Invalid Refresh Token"));
+    }
+
+    private String createToken(User user, String familyId) {
+        Instant issuedAt = Instant.now();
+        Instant expiresAt = issuedAt.plus(jwtUtil.refreshTokenTtl());
+        String token = jwtUtil.generateRefreshToken(user.getEmail(), issuedAt, expiresAt);
+
+        refreshTokenRepository.save(new RefreshToken(
+                null, TokenHashes.sha256Hex(token), familyId, user, issuedAt, expiresAt, false
+        ));
+        return token;
+    }
+}
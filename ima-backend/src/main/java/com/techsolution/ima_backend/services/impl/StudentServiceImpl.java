@@ -60,7 +60,7 @@ public class StudentServiceImpl implements StudentService {
     @Override
     @Transactional(readOnly = true)
     public List<StudentResponse> getAllStudents() {
-        return studentRepository.findAll()
+        return studentRepository.findAllForListing()
                 .stream()
                 .map(StudentMapper::toResponseDto)
                 .collect(Collectors.toList());
@@ -52,7 +52,7 @@ public class TeacherServiceImpl implements TeacherService {
     @Override
     @Transactional(readOnly = true)
     public List<TeacherResponse> getAllTeachers() {
-        List<Teacher> teachers = teacherRepository.findAll();
+        List<Teacher> teachers = teacherRepository.findAllForListing();
 
         return teachers.stream()
                 .map(TeacherMapper::toResponseDto)
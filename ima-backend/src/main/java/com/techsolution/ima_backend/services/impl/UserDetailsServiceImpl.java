@@ -6,6 +6,7 @@ import com.techsolution.ima_backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -15,7 +16,7 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -35,4 +36,18 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
         );
     }
+
+    /**
+     * Appelé par Spring Security après une connexion réussie lorsque le hash stocké
+     * a été calculé avec un coût BCrypt inférieur au coût configuré.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername()).orElseThrow(() ->
+                new UsernameNotFoundException("User is not exists with given email : " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+
+        return new CustomUserDetails(user.getId(), user.getEmail(), newPassword, userDetails.getAuthorities());
+    }
 }
@@ -0,0 +1,36 @@
+package com.techsolution.ima_backend.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Exécute une action uniquement si la transaction en cours est validée
+ * (index de recherche, push WebSocket...) : un rollback n'a ainsi aucun effet visible.
+ * Hors transaction, l'action est exécutée immédiatement.
+ * Une erreur de l'action est journalisée sans remettre en cause la transaction déjà validée.
+ */
+@Slf4j
+public final class AfterCommit {
+
+    private AfterCommit() {
+        // Constructeur privé
+    }
+
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    log.error("Échec d'une action post-commit", e);
+                }
+            }
+        });
+    }
+}
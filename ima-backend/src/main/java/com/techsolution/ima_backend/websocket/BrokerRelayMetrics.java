@@ -0,0 +1,62 @@
+package com.techsolution.ima_backend.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.broker.BrokerAvailabilityEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Métriques du broker STOMP : trames échangées avec le relais externe,
+ * échecs de connexion et disponibilité (simple broker ou relais).
+ */
+@Slf4j
+@Component
+public class BrokerRelayMetrics {
+
+    private final Counter framesToBroker;
+    private final Counter framesFromBroker;
+    private final Counter connectFailures;
+    private final AtomicBoolean brokerAvailable = new AtomicBoolean(false);
+
+    public BrokerRelayMetrics(MeterRegistry meterRegistry) {
+        this.framesToBroker = Counter.builder("websocket.relay.frames")
+                .tag("direction", "outbound")
+                .description("Trames envoyées au broker externe")
+                .register(meterRegistry);
+        this.framesFromBroker = Counter.builder("websocket.relay.frames")
+                .tag("direction", "inbound")
+                .description("Trames reçues du broker externe")
+                .register(meterRegistry);
+        this.connectFailures = Counter.builder("websocket.relay.connect.failures")
+                .description("Échecs de connexion TCP au broker externe")
+                .register(meterRegistry);
+        Gauge.builder("websocket.broker.available", brokerAvailable, available -> available.get() ? 1 : 0)
+                .description("1 si le broker STOMP est joignable")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onBrokerAvailability(BrokerAvailabilityEvent event) {
+        boolean previous = brokerAvailable.getAndSet(event.isBrokerAvailable());
+        if (previous != event.isBrokerAvailable()) {
+            log.info("Broker STOMP {}", event.isBrokerAvailable() ? "disponible" : "indisponible");
+        }
+    }
+
+    void frameSent() {
+        framesToBroker.increment();
+    }
+
+    void frameReceived() {
+        framesFromBroker.increment();
+    }
+
+    void connectFailed() {
+        connectFailures.increment();
+    }
+}
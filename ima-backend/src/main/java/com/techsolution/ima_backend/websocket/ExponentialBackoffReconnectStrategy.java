@@ -0,0 +1,30 @@
+package com.techsolution.ima_backend.websocket;
+
+import org.springframework.messaging.tcp.ReconnectStrategy;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reconnexion au broker avec délai exponentiel plafonné et une part aléatoire (±20 %),
+ * pour que tous les nœuds ne se reconnectent pas en même temps après une panne du broker.
+ */
+public class ExponentialBackoffReconnectStrategy implements ReconnectStrategy {
+
+    private final long initialDelayMs;
+    private final long maxDelayMs;
+    private final double multiplier;
+
+    public ExponentialBackoffReconnectStrategy(long initialDelayMs, long maxDelayMs, double multiplier) {
+        this.initialDelayMs = initialDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.multiplier = multiplier;
+    }
+
+    @Override
+    public Long getTimeToNextAttempt(int attemptCount) {
+        double delay = initialDelayMs * Math.pow(multiplier, Math.max(0, attemptCount - 1));
+        long capped = (long) Math.min(delay, maxDelayMs);
+        long jitter = (long) (capped * 0.2 * (ThreadLocalRandom.current().nextDouble() * 2 - 1));
+        return Math.max(initialDelayMs, capped + jitter);
+    }
+}
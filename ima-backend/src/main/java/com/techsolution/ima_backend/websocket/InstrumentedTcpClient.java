@@ -0,0 +1,109 @@
+package com.techsolution.ima_backend.websocket;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.tcp.ReconnectStrategy;
+import org.springframework.messaging.tcp.TcpConnection;
+import org.springframework.messaging.tcp.TcpConnectionHandler;
+import org.springframework.messaging.tcp.TcpOperations;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Client TCP du relais STOMP : compte les trames échangées avec le broker et
+ * remplace la reconnexion à intervalle fixe (5 s) de la session système
+ * par la stratégie configurée (backoff exponentiel).
+ */
+public class InstrumentedTcpClient implements TcpOperations<byte[]> {
+
+    private final TcpOperations<byte[]> delegate;
+    private final ReconnectStrategy reconnectStrategy;
+    private final BrokerRelayMetrics metrics;
+
+    public InstrumentedTcpClient(TcpOperations<byte[]> delegate, ReconnectStrategy reconnectStrategy,
+                                 BrokerRelayMetrics metrics) {
+        this.delegate = delegate;
+        this.reconnectStrategy = reconnectStrategy;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CompletableFuture<Void> connectAsync(TcpConnectionHandler<byte[]> handler) {
+        return delegate.connectAsync(new CountingHandler(handler));
+    }
+
+    @Override
+    public CompletableFuture<Void> connectAsync(TcpConnectionHandler<byte[]> handler, ReconnectStrategy ignored) {
+        return delegate.connectAsync(new CountingHandler(handler), reconnectStrategy);
+    }
+
+    @Override
+    public CompletableFuture<Void> shutdownAsync() {
+        return delegate.shutdownAsync();
+    }
+
+    private final class CountingHandler implements TcpConnectionHandler<byte[]> {
+
+        private final TcpConnectionHandler<byte[]> handler;
+
+        private CountingHandler(TcpConnectionHandler<byte[]> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void afterConnected(TcpConnection<byte[]> connection) {
+            handler.afterConnected(new CountingConnection(connection));
+        }
+
+        @Override
+        public void afterConnectFailure(Throwable ex) {
+            metrics.connectFailed();
+            handler.afterConnectFailure(ex);
+        }
+
+        @Override
+        public void handleMessage(Message<byte[]> message) {
+            metrics.frameReceived();
+            handler.handleMessage(message);
+        }
+
+        @Override
+        public void handleFailure(Throwable ex) {
+            handler.handleFailure(ex);
+        }
+
+        @Override
+        public void afterConnectionClosed() {
+            handler.afterConnectionClosed();
+        }
+    }
+
+    private final class CountingConnection implements TcpConnection<byte[]> {
+
+        private final TcpConnection<byte[]> connection;
+
+        private CountingConnection(TcpConnection<byte[]> connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public CompletableFuture<Void> sendAsync(Message<byte[]> message) {
+            metrics.frameSent();
+            return connection.sendAsync(message);
+        }
+
+        @Override
+        public void onReadInactivity(Runnable runnable, long duration) {
+            connection.onReadInactivity(runnable, duration);
+        }
+
+        @Override
+        public void onWriteInactivity(Runnable runnable, long duration) {
+            connection.onWriteInactivity(runnable, duration);
+        }
+
+        @Override
+        public void close() {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.techsolution.ima_backend.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Observation des clients lents. Quand une session dépasse la limite de temps d'envoi
+ * ou de tampon (websocket.transport.*), Spring la ferme avec SESSION_NOT_RELIABLE :
+ * ces déconnexions sont comptées ici. Le temps d'écriture de chaque trame sur la socket
+ * est mesuré par session pour repérer les consommateurs lents avant qu'ils ne soient coupés.
+ */
+@Slf4j
+@Component
+public class SlowConsumerHandlerDecoratorFactory implements WebSocketHandlerDecoratorFactory {
+
+    private final Counter droppedSessions;
+    private final Timer sendTimer;
+
+    public SlowConsumerHandlerDecoratorFactory(MeterRegistry meterRegistry) {
+        this.droppedSessions = Counter.builder("websocket.sessions.dropped")
+                .description("Sessions fermées car le client ne consommait pas assez vite")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("websocket.session.send")
+                .description("Durée d'écriture d'une trame vers un client")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(new TimedSession(session));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+                    droppedSessions.increment();
+                    log.warn("Session WebSocket {} fermée (client trop lent)", session.getId());
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    private final class TimedSession extends WebSocketSessionDecorator {
+
+        private TimedSession(WebSocketSession session) {
+            super(session);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            long start = System.nanoTime();
+            try {
+                super.sendMessage(message);
+            } finally {
+                sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
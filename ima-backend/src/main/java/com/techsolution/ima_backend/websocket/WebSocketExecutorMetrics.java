@@ -0,0 +1,34 @@
+package com.techsolution.ima_backend.websocket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Profondeur des files des canaux STOMP entrant et sortant : une file sortante qui grossit
+ * signale des clients lents ou une rafale de diffusion.
+ */
+@Component
+public class WebSocketExecutorMetrics {
+
+    public WebSocketExecutorMetrics(
+            @Qualifier("clientInboundChannelExecutor") ThreadPoolTaskExecutor inboundExecutor,
+            @Qualifier("clientOutboundChannelExecutor") ThreadPoolTaskExecutor outboundExecutor,
+            MeterRegistry meterRegistry) {
+        register(meterRegistry, "inbound", inboundExecutor);
+        register(meterRegistry, "outbound", outboundExecutor);
+    }
+
+    private static void register(MeterRegistry meterRegistry, String channel, ThreadPoolTaskExecutor executor) {
+        Gauge.builder("websocket.channel.queue", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .tag("channel", channel)
+                .description("Messages STOMP en attente de traitement")
+                .register(meterRegistry);
+        Gauge.builder("websocket.channel.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("channel", channel)
+                .description("Threads du canal STOMP occupés")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,105 @@
+package com.techsolution.ima_backend.websocket;
+
+import com.techsolution.ima_backend.entities.CustomUserDetails;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.AbstractSubProtocolEvent;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registre en mémoire des sessions STOMP actives par utilisateur (un utilisateur
+ * peut avoir plusieurs onglets / appareils). Permet de savoir en O(1) si un utilisateur
+ * est en ligne avant de choisir entre push WebSocket et notification stockée.
+ */
+@Slf4j
+@Component
+public class WebSocketSessionRegistry {
+
+    // userId -> ids des sessions STOMP ouvertes
+    private final Map<Long, Set<String>> sessionsByUser = new ConcurrentHashMap<>();
+    // sessionId -> userId, pour retrouver l'utilisateur à la déconnexion
+    private final Map<String, Long> userBySession = new ConcurrentHashMap<>();
+
+    public WebSocketSessionRegistry(MeterRegistry meterRegistry) {
+        Gauge.builder("websocket.sessions.connected", userBySession, Map::size)
+                .description("Sessions STOMP authentifiées ouvertes")
+                .register(meterRegistry);
+        Gauge.builder("websocket.users.online", sessionsByUser, Map::size)
+                .description("Utilisateurs ayant au moins une session STOMP ouverte")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Long userId = userId(event);
+        String sessionId = sessionId(event);
+        if (userId == null || sessionId == null) {
+            return;
+        }
+
+        userBySession.put(sessionId, userId);
+        sessionsByUser.compute(userId, (id, sessions) -> {
+            Set<String> updated = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+            updated.add(sessionId);
+            return updated;
+        });
+        log.debug("Session STOMP {} ouverte pour l'utilisateur {}", sessionId, userId);
+    }
+
+    @EventListener
+    public void onDisconnected(SessionDisconnectEvent event) {
+        String sessionId = event.getSessionId();
+        Long userId = sessionId != null ? userBySession.remove(sessionId) : null;
+        if (userId == null) {
+            return;
+        }
+
+        // Suppression atomique de l'entrée quand la dernière session se ferme
+        sessionsByUser.computeIfPresent(userId, (id, sessions) -> {
+            sessions.remove(sessionId);
+            return sessions.isEmpty() ? null : sessions;
+        });
+        log.debug("Session STOMP {} fermée pour l'utilisateur {}", sessionId, userId);
+    }
+
+    public boolean isOnline(Long userId) {
+        return sessionsByUser.containsKey(userId);
+    }
+
+    public int getSessionCount(Long userId) {
+        Set<String> sessions = sessionsByUser.get(userId);
+        return sessions != null ? sessions.size() : 0;
+    }
+
+    public int getConnectedSessionCount() {
+        return userBySession.size();
+    }
+
+    public int getOnlineUserCount() {
+        return sessionsByUser.size();
+    }
+
+    private static Long userId(AbstractSubProtocolEvent event) {
+        Principal user = event.getUser();
+        if (user instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails.getUserId();
+        }
+        return null;
+    }
+
+    private static String sessionId(AbstractSubProtocolEvent event) {
+        return SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+    }
+}
@@ -0,0 +1,166 @@
+package com.techsolution.ima_backend.outbox;
+
+import com.techsolution.ima_backend.entities.OutboxEvent;
+import com.techsolution.ima_backend.entities.OutboxStatus;
+import com.techsolution.ima_backend.services.OutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxDispatcherTest {
+
+    private static final String TYPE = "test.flaky";
+
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    void backoffDoublesFromTheInitialDelayUpToTheCap() {
+        dispatcher = dispatcher(List.of());
+
+        assertThat(dispatcher.backoff(0)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(dispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(dispatcher.backoff(2)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(dispatcher.backoff(3)).isEqualTo(Duration.ofSeconds(4));
+        assertThat(dispatcher.backoff(9)).isEqualTo(Duration.ofSeconds(256));
+        assertThat(dispatcher.backoff(10)).isEqualTo(Duration.ofMinutes(5));
+        assertThat(dispatcher.backoff(1_000)).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void failedDeliveryIsRescheduledWithBackoffThenDeliveredOnRetry() {
+        FlakyHandler handler = new FlakyHandler(1, false);
+        dispatcher = dispatcher(List.of(handler));
+        when(outboxService.claim(anyInt(), any()))
+                .thenReturn(List.of(event(7L, 1)), List.of(event(7L, 2)), List.of());
+        when(outboxService.markFailed(any(), anyString(), anyInt(), any())).thenReturn(false);
+
+        dispatcher.trigger();
+        verify(outboxService, timeout(5_000)).markFailed(any(), anyString(), eq(10), eq(Duration.ofSeconds(1)));
+        verify(outboxService, timeout(5_000)).markDelivered(List.of());
+
+        dispatcher.trigger();
+        verify(outboxService, timeout(5_000)).markDelivered(List.of(7L));
+        assertThat(handler.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void failedDeliveryIsAbandonedOnceMaxAttemptsIsReached() {
+        dispatcher = dispatcher(List.of(new FlakyHandler(1, false)));
+        when(outboxService.claim(anyInt(), any())).thenReturn(List.of(event(7L, 10)));
+        when(outboxService.markFailed(any(), anyString(), anyInt(), any())).thenReturn(true);
+
+        dispatcher.trigger();
+
+        verify(outboxService, timeout(5_000)).markFailed(any(), anyString(), eq(10), eq(Duration.ofMinutes(5)));
+        verify(outboxService, timeout(5_000)).markDelivered(List.of());
+    }
+
+    @Test
+    void transactionalHandlerIsAppliedWithTheRowRemoval() {
+        FlakyHandler handler = new FlakyHandler(0, true);
+        dispatcher = dispatcher(List.of(handler));
+        when(outboxService.claim(anyInt(), any())).thenReturn(List.of(event(7L, 2)));
+        when(outboxService.deliverInTransaction(eq(7L), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+
+        dispatcher.trigger();
+
+        verify(outboxService, timeout(5_000)).markDelivered(List.of());
+        verify(outboxService).deliverInTransaction(eq(7L), any());
+        verify(outboxService, never()).markFailed(any(), anyString(), anyInt(), any());
+        assertThat(handler.calls.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.events").tag("outcome", "delivered").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void rowAlreadyDeliveredElsewhereIsCountedAsSkippedNotDelivered() {
+        FlakyHandler handler = new FlakyHandler(0, true);
+        dispatcher = dispatcher(List.of(handler));
+        when(outboxService.claim(anyInt(), any())).thenReturn(List.of(event(7L, 2)));
+        when(outboxService.deliverInTransaction(eq(7L), any())).thenReturn(false);
+
+        dispatcher.trigger();
+
+        verify(outboxService, timeout(5_000)).markDelivered(List.of());
+        assertThat(handler.calls.get()).isZero();
+        assertThat(meterRegistry.get("outbox.events").tag("outcome", "skipped").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("outbox.events").tag("outcome", "delivered").counter()).isNull();
+        assertThat(meterRegistry.find("outbox.lag").timer()).isNull();
+    }
+
+    private OutboxDispatcher dispatcher(List<OutboxHandler<?>> handlers) {
+        return new OutboxDispatcher(outboxService, JsonMapper.builder().build(), meterRegistry, handlers,
+                100, 30_000, 10, 1_000, 300_000);
+    }
+
+    private static OutboxEvent event(Long id, int attempts) {
+        LocalDateTime now = LocalDateTime.now();
+        return new OutboxEvent(id, TYPE, "{\"value\":\"x\"}", OutboxStatus.PENDING, attempts, now, now, null);
+    }
+
+    record Payload(String value) {
+    }
+
+    // Échoue aux {@code failures} premières tentatives, réussit ensuite
+    static class FlakyHandler implements OutboxHandler<Payload> {
+
+        private final int failures;
+        private final boolean transactional;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        FlakyHandler(int failures, boolean transactional) {
+            this.failures = failures;
+            this.transactional = transactional;
+        }
+
+        @Override
+        public String type() {
+            return TYPE;
+        }
+
+        @Override
+        public Class<Payload> payloadType() {
+            return Payload.class;
+        }
+
+        @Override
+        public void handle(Payload payload) {
+            if (calls.incrementAndGet() <= failures) {
+                throw new IllegalStateException("destinataire indisponible");
+            }
+        }
+
+        @Override
+        public boolean transactional() {
+            return transactional;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.techsolution.ima_backend.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorPageTest {
+
+    @Test
+    void extraRowSignalsANextPageAndIsNotServed() {
+        CursorPage<String> page = CursorPage.of(List.of(30L, 20L, 10L), 2, KeysetCursor::of, id -> "m" + id);
+
+        assertThat(page.getItems()).containsExactly("m30", "m20");
+        assertThat(page.isHasNext()).isTrue();
+        // Le curseur pointe sur la dernière ligne servie, pas sur la ligne en trop
+        assertThat(KeysetCursor.decode(page.getNextCursor()).id()).isEqualTo(20L);
+    }
+
+    @Test
+    void exactlyFullPageHasNoNextCursor() {
+        CursorPage<Long> page = CursorPage.of(List.of(30L, 20L), 2, KeysetCursor::of, Function.identity());
+
+        assertThat(page.getItems()).containsExactly(30L, 20L);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void emptyPageHasNoNextCursor() {
+        CursorPage<Long> page = CursorPage.of(List.<Long>of(), 20, KeysetCursor::of, Function.identity());
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void requestedSizeIsClamped() {
+        assertThat(CursorPage.clampSize(0)).isEqualTo(1);
+        assertThat(CursorPage.clampSize(-5)).isEqualTo(1);
+        assertThat(CursorPage.clampSize(20)).isEqualTo(20);
+        assertThat(CursorPage.clampSize(10_000)).isEqualTo(CursorPage.MAX_SIZE);
+    }
+}
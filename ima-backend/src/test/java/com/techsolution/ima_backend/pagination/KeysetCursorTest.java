@@ -0,0 +1,71 @@
+package com.techsolution.ima_backend.pagination;
+
+import com.techsolution.ima_backend.exceptions.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void dateTimeCursorSurvivesARoundTrip() {
+        LocalDateTime sentDate = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_000_000);
+
+        KeysetCursor decoded = KeysetCursor.decode(KeysetCursor.of(sentDate, 42L).encode());
+
+        assertThat(decoded.asDateTime()).isEqualTo(sentDate);
+        assertThat(decoded.id()).isEqualTo(42L);
+    }
+
+    @Test
+    void dateIdAndScoreCursorsSurviveARoundTrip() {
+        assertThat(KeysetCursor.decode(KeysetCursor.of(LocalDate.of(2025, 6, 1), 7L).encode()).asDate())
+                .isEqualTo(LocalDate.of(2025, 6, 1));
+        assertThat(KeysetCursor.decode(KeysetCursor.of(99L).encode()).id()).isEqualTo(99L);
+        assertThat(KeysetCursor.decode(KeysetCursor.of(1.25f, 3L).encode()).asFloat()).isEqualTo(1.25f);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = KeysetCursor.of(LocalDateTime.of(2025, 1, 1, 0, 0), Long.MAX_VALUE).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertThat(KeysetCursor.decode(null)).isNull();
+        assertThat(KeysetCursor.decode("  ")).isNull();
+    }
+
+    @Test
+    void malformedCursorsAreRejectedAsBadRequests() {
+        assertThatThrownBy(() -> KeysetCursor.decode("%%%not-base64%%%"))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(encode("sans-separateur")))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(encode("|12")))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(encode("2025-01-01T00:00|abc")))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void cursorValueOfTheWrongTypeIsRejectedAsABadRequest() {
+        KeysetCursor cursor = KeysetCursor.decode(encode("pas-une-date|12"));
+
+        assertThatThrownBy(cursor::asDateTime).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(cursor::asDate).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(cursor::asFloat).isInstanceOf(InvalidCursorException.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,106 @@
+package com.techsolution.ima_backend.repository;
+
+import com.techsolution.ima_backend.entities.Message;
+import com.techsolution.ima_backend.entities.User;
+import com.techsolution.ima_backend.entities.UserRole;
+import com.techsolution.ima_backend.pagination.CursorPage;
+import com.techsolution.ima_backend.pagination.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pagination par curseur d'une conversation sur une vraie base (H2) : les messages envoyés
+ * à la même date sont départagés par l'id, sans doublon ni trou d'une page à l'autre.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class MessageRepositoryTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User sender;
+    private User recipient;
+
+    @BeforeEach
+    void setUp() {
+        sender = userRepository.save(user("sender"));
+        recipient = userRepository.save(user("recipient"));
+    }
+
+    @Test
+    void equalSentDatesArePagedByIdWithoutDuplicatesOrGaps() {
+        LocalDateTime sameInstant = LocalDateTime.of(2025, 5, 20, 10, 0);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(0, messageRepository.save(message(sameInstant)).getId());
+        }
+
+        List<Long> served = new ArrayList<>();
+        KeysetCursor position = null;
+        do {
+            List<Message> rows = position == null
+                    ? messageRepository.findConversationHead(sender.getId(), recipient.getId(), Limit.of(PAGE_SIZE + 1))
+                    : messageRepository.findConversationBefore(sender.getId(), recipient.getId(),
+                    position.asDateTime(), position.id(), Limit.of(PAGE_SIZE + 1));
+            CursorPage<Long> page = CursorPage.of(rows, PAGE_SIZE,
+                    m -> KeysetCursor.of(m.getSentDate(), m.getId()), Message::getId);
+            served.addAll(page.getItems());
+            position = KeysetCursor.decode(page.getNextCursor());
+        } while (position != null);
+
+        assertThat(served).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void olderMessagesFollowNewerOnesAcrossPages() {
+        LocalDateTime base = LocalDateTime.of(2025, 5, 20, 10, 0);
+        Long oldest = messageRepository.save(message(base.minusMinutes(5))).getId();
+        Long tiedLow = messageRepository.save(message(base)).getId();
+        Long tiedHigh = messageRepository.save(message(base)).getId();
+
+        List<Message> firstPage = messageRepository.findConversationHead(sender.getId(), recipient.getId(), Limit.of(2));
+        Message last = firstPage.get(firstPage.size() - 1);
+        List<Message> next = messageRepository.findConversationBefore(sender.getId(), recipient.getId(),
+                last.getSentDate(), last.getId(), Limit.of(2));
+
+        assertThat(firstPage).extracting(Message::getId).containsExactly(tiedHigh, tiedLow);
+        assertThat(next).extracting(Message::getId).containsExactly(oldest);
+    }
+
+    private Message message(LocalDateTime sentDate) {
+        Message message = new Message();
+        message.setContent("Bonjour");
+        message.setSentDate(sentDate);
+        message.setSender(sender);
+        message.setRecipient(recipient);
+        return message;
+    }
+
+    private static User user(String prefix) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName(prefix);
+        user.setEmail(prefix + "-" + UUID.randomUUID() + "@ima.test");
+        user.setRoles(new ArrayList<>(List.of(UserRole.STUDENT)));
+        return user;
+    }
+}
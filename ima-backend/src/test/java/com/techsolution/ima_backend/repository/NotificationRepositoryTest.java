@@ -0,0 +1,82 @@
+package com.techsolution.ima_backend.repository;
+
+import com.techsolution.ima_backend.entities.Notification;
+import com.techsolution.ima_backend.entities.NotificationArchive;
+import com.techsolution.ima_backend.entities.User;
+import com.techsolution.ima_backend.entities.UserRole;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rétention : l'archivage et la suppression d'un lot revérifient le critère, une notification
+ * vue ou regroupée après la lecture du lot n'est ni archivée ni supprimée.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class NotificationRepositoryTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        User newUser = new User();
+        newUser.setFirstName("Test");
+        newUser.setLastName("Retention");
+        newUser.setEmail("retention-" + UUID.randomUUID() + "@ima.test");
+        newUser.setRoles(new ArrayList<>(List.of(UserRole.STUDENT)));
+        user = userRepository.save(newUser);
+    }
+
+    @Test
+    void batchOnlyRemovesRowsStillMatchingTheRetentionCriterion() {
+        Long expired = save(false, CUTOFF.minusDays(10)).getId();
+        Long viewedMeanwhile = save(true, CUTOFF.minusDays(10)).getId();
+        Long coalescedMeanwhile = save(false, CUTOFF.plusDays(1)).getId();
+        List<Long> batch = List.of(expired, viewedMeanwhile, coalescedMeanwhile);
+
+        int archived = notificationRepository.archiveByIds(batch, false, CUTOFF, LocalDateTime.now());
+        int deleted = notificationRepository.deleteByIds(batch, false, CUTOFF);
+        entityManager.clear();
+
+        assertThat(archived).isEqualTo(1);
+        assertThat(deleted).isEqualTo(1);
+        assertThat(notificationRepository.findAllById(batch))
+                .extracting(Notification::getId)
+                .containsExactlyInAnyOrder(viewedMeanwhile, coalescedMeanwhile);
+        assertThat(entityManager.find(NotificationArchive.class, expired)).isNotNull();
+        assertThat(entityManager.find(NotificationArchive.class, viewedMeanwhile)).isNull();
+    }
+
+    private Notification save(boolean viewed, LocalDateTime date) {
+        Notification notification = new Notification();
+        notification.setUser(user);
+        notification.setMessage("Notification");
+        notification.setViewed(viewed);
+        notification.setNotificationDate(date);
+        return notificationRepository.saveAndFlush(notification);
+    }
+}
@@ -0,0 +1,104 @@
+package com.techsolution.ima_backend.search;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.TermQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LuceneIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LuceneIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LuceneIndex(tempDir.resolve("index"), new StandardAnalyzer());
+        for (int id = 1; id <= 3; id++) {
+            index.update(idTerm(id), document(id));
+        }
+        index.commit();
+        index.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void searchesKeepTheFullOldContentUntilTheRebuildIsSwappedIn() {
+        index.rebuild(sink -> {
+            sink.add(idTerm(10), document(10));
+            // Rafraîchissement et commit périodiques pendant le remplissage
+            index.refresh();
+            index.commit();
+            assertThat(count()).isEqualTo(3);
+            sink.add(idTerm(11), document(11));
+        });
+
+        assertThat(count()).isEqualTo(2);
+        assertThat(contains(10)).isTrue();
+        assertThat(contains(1)).isFalse();
+        assertThat(tempDir.resolve("index-rebuild")).doesNotExist();
+    }
+
+    @Test
+    void writesMadeDuringTheRebuildSurviveTheSwap() {
+        index.rebuild(sink -> {
+            sink.add(idTerm(10), document(10));
+            sink.add(idTerm(11), document(11));
+            index.update(idTerm(12), document(12));
+            index.delete(idTerm(11));
+        });
+
+        assertThat(contains(10)).isTrue();
+        assertThat(contains(11)).isFalse();
+        assertThat(contains(12)).isTrue();
+    }
+
+    @Test
+    void failedRebuildLeavesTheOldContentIntact() {
+        assertThatThrownBy(() -> index.rebuild(sink -> {
+            sink.add(idTerm(10), document(10));
+            throw new IllegalStateException("base indisponible");
+        })).isInstanceOf(IllegalStateException.class);
+
+        index.refresh();
+        assertThat(count()).isEqualTo(3);
+        assertThat(contains(10)).isFalse();
+        assertThat(tempDir.resolve("index-rebuild")).doesNotExist();
+    }
+
+    private int count() {
+        return index.search(searcher -> searcher.count(new MatchAllDocsQuery()));
+    }
+
+    private boolean contains(int id) {
+        return index.search(searcher -> searcher.count(new TermQuery(idTerm(id))) == 1);
+    }
+
+    private static Term idTerm(int id) {
+        return new Term("id", Integer.toString(id));
+    }
+
+    private static Document document(int id) {
+        Document document = new Document();
+        document.add(new StringField("id", Integer.toString(id), Field.Store.YES));
+        return document;
+    }
+}
@@ -0,0 +1,50 @@
+package com.techsolution.ima_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void neverReportsAnInsertedDigestAsAbsent() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        List<byte[]> inserted = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            byte[] digest = TokenHashes.sha256(UUID.randomUUID().toString());
+            filter.put(digest);
+            inserted.add(digest);
+        }
+
+        assertThat(inserted).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void keepsFalsePositivesNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(TokenHashes.sha256("revoked-" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(TokenHashes.sha256("other-" + i))) {
+                falsePositives++;
+            }
+        }
+
+        // 1 % attendu ; marge large pour que le test reste déterministe en pratique
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(100, 0.001);
+
+        assertThat(filter.mightContain(TokenHashes.sha256("token"))).isFalse();
+    }
+}
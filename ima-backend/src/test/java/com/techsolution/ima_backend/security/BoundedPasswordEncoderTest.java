@@ -0,0 +1,81 @@
+package com.techsolution.ima_backend.security;
+
+import com.techsolution.ima_backend.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void encodesAndMatchesOnThePool() {
+        encoder = new BoundedPasswordEncoder(4, 1, 1, 5_000, meterRegistry);
+
+        String hash = encoder.encode("secret");
+
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+    }
+
+    @Test
+    void rejectsImmediatelyWhenTheQueueIsFull() {
+        encoder = new BoundedPasswordEncoder(4, 1, 1, 5_000, meterRegistry);
+        ThreadPoolExecutor executor = executor();
+        executor.execute(this::awaitRelease); // occupe l'unique thread
+        executor.execute(this::awaitRelease); // remplit la file
+
+        assertThatThrownBy(() -> encoder.encode("secret"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(rejectedCount()).isEqualTo(1.0);
+    }
+
+    @Test
+    void rejectsWhenTheWaitExceedsTheTimeout() {
+        encoder = new BoundedPasswordEncoder(4, 1, 1, 100, meterRegistry);
+        executor().execute(this::awaitRelease); // le hachage reste en file
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> encoder.matches("secret", "$2a$04$invalidhashinvalidhashinvalidhashinvalidhashinvalidha"))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(2_000);
+        assertThat(rejectedCount()).isEqualTo(1.0);
+        // La tâche annulée libère la file
+        assertThat(executor().getQueue()).isEmpty();
+    }
+
+    private ThreadPoolExecutor executor() {
+        return (ThreadPoolExecutor) ReflectionTestUtils.getField(encoder, "executor");
+    }
+
+    private double rejectedCount() {
+        return meterRegistry.get("security.password.hash.rejected").counter().count();
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.techsolution.ima_backend.security;
+
+import com.techsolution.ima_backend.entities.CustomUserDetails;
+import com.techsolution.ima_backend.services.impl.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class JwtPrincipalResolverTest {
+
+    private JwtUtil jwtUtil;
+    private TokenRevocationList revocationList;
+    private VerifiedTokenCache verifiedTokenCache;
+    private UserDetailsServiceImpl userDetailsService;
+    private JwtPrincipalResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "test-secret-key-long-enough-for-hmac-sha-256-signing");
+        ReflectionTestUtils.setField(jwtUtil, "keyId", "test");
+        ReflectionTestUtils.setField(jwtUtil, "retiredKeys", "");
+        ReflectionTestUtils.setField(jwtUtil, "expirationMs", 60_000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpMs", 120_000L);
+        jwtUtil.init();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        revocationList = new TokenRevocationList(1_000, 0.001, meterRegistry);
+        verifiedTokenCache = new VerifiedTokenCache(1_000, meterRegistry);
+        userDetailsService = mock(UserDetailsServiceImpl.class);
+
+        resolver = new JwtPrincipalResolver(jwtUtil, userDetailsService, revocationList, verifiedTokenCache);
+        ReflectionTestUtils.setField(resolver, "statelessAuth", true);
+    }
+
+    @Test
+    void resolvesPrincipalFromClaimsAndCachesIt() {
+        String token = jwtUtil.generateToken(7L, "student@ima.test", List.of("ROLE_STUDENT"));
+
+        CustomUserDetails principal = resolver.resolve(token);
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.getUserId()).isEqualTo(7L);
+        assertThat(principal.hasAuthority("ROLE_STUDENT")).isTrue();
+        assertThat(verifiedTokenCache.get(TokenHashes.sha256Hex(token))).isSameAs(principal);
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void revocationWinsOverCachedPrincipalBeforeInvalidation() {
+        String token = jwtUtil.generateToken(7L, "student@ima.test", List.of("ROLE_STUDENT"));
+        assertThat(resolver.resolve(token)).isNotNull();
+
+        // Déconnexion : la révocation précède l'invalidation du cache ; entre les deux, le token doit déjà être refusé
+        byte[] digest = TokenHashes.sha256(token);
+        revocationList.revoke(digest, System.currentTimeMillis() + 60_000);
+        assertThat(verifiedTokenCache.get(TokenHashes.toHex(digest))).isNotNull();
+        assertThat(resolver.resolve(token)).isNull();
+
+        verifiedTokenCache.invalidate(TokenHashes.toHex(digest));
+        assertThat(resolver.resolve(token)).isNull();
+    }
+
+    @Test
+    void refreshTokenIsNotAcceptedAsAccessToken() {
+        Instant now = Instant.now();
+        String refreshToken = jwtUtil.generateRefreshToken("student@ima.test", now, now.plusSeconds(60));
+
+        assertThat(resolver.resolve(refreshToken)).isNull();
+    }
+
+    @Test
+    void rejectsTamperedToken() {
+        String token = jwtUtil.generateToken(7L, "student@ima.test", List.of("ROLE_STUDENT"));
+
+        assertThat(resolver.resolve(token.substring(0, token.length() - 2) + "xx")).isNull();
+    }
+}
@@ -0,0 +1,51 @@
+package com.techsolution.ima_backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationListTest {
+
+    private final TokenRevocationList revocationList = new TokenRevocationList(1_000, 0.001, new SimpleMeterRegistry());
+
+    @Test
+    void revokedTokenIsAlwaysRejected() {
+        List<byte[]> revoked = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            byte[] digest = TokenHashes.sha256("access-token-" + i);
+            revocationList.revoke(digest, System.currentTimeMillis() + 60_000);
+            revoked.add(digest);
+        }
+
+        assertThat(revoked).allMatch(revocationList::isRevoked);
+        assertThat(revocationList.isRevoked(TokenHashes.sha256("never-revoked"))).isFalse();
+    }
+
+    @Test
+    void alreadyExpiredTokenIsNotRetained() {
+        byte[] digest = TokenHashes.sha256("expired");
+
+        revocationList.revoke(digest, System.currentTimeMillis() - 1);
+
+        assertThat(revocationList.isRevoked(digest)).isFalse();
+    }
+
+    @Test
+    void purgeForgetsExpiredTokensAndKeepsLiveOnes() throws InterruptedException {
+        byte[] shortLived = TokenHashes.sha256("short-lived");
+        byte[] longLived = TokenHashes.sha256("long-lived");
+        revocationList.revoke(shortLived, System.currentTimeMillis() + 50);
+        revocationList.revoke(longLived, System.currentTimeMillis() + 60_000);
+
+        Thread.sleep(100);
+        revocationList.purgeExpired();
+
+        // Le filtre est reconstruit : le token encore valide reste refusé
+        assertThat(revocationList.isRevoked(shortLived)).isFalse();
+        assertThat(revocationList.isRevoked(longLived)).isTrue();
+    }
+}
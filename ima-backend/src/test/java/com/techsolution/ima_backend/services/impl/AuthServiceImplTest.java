@@ -0,0 +1,71 @@
+package com.techsolution.ima_backend.services.impl;
+
+import com.techsolution.ima_backend.dtos.request.UserLoginRequest;
+import com.techsolution.ima_backend.exceptions.TooManyRequestsException;
+import com.techsolution.ima_backend.repository.UserRepository;
+import com.techsolution.ima_backend.security.JwtUtil;
+import com.techsolution.ima_backend.security.TokenRevocationList;
+import com.techsolution.ima_backend.security.VerifiedTokenCache;
+import com.techsolution.ima_backend.services.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AuthServiceImplTest {
+
+    private AuthenticationManager authenticationManager;
+    private UserRepository userRepository;
+    private AuthServiceImpl authService;
+
+    @BeforeEach
+    void setUp() {
+        authenticationManager = mock(AuthenticationManager.class);
+        userRepository = mock(UserRepository.class);
+        authService = new AuthServiceImpl(userRepository, mock(PasswordEncoder.class), mock(JwtUtil.class),
+                authenticationManager, mock(TokenRevocationList.class), mock(VerifiedTokenCache.class),
+                mock(RefreshTokenService.class));
+    }
+
+    @Test
+    void loginSurfacesTheRejectionWhenItIsWrappedByTheProvider() {
+        TooManyRequestsException rejection = new TooManyRequestsException("pool saturé");
+        when(authenticationManager.authenticate(any()))
+                .thenThrow(new InternalAuthenticationServiceException(rejection.getMessage(), rejection));
+
+        assertThatThrownBy(() -> authService.login(request()))
+                .isSameAs(rejection);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void loginLetsADirectRejectionThrough() {
+        when(authenticationManager.authenticate(any())).thenThrow(new TooManyRequestsException("pool saturé"));
+
+        assertThatThrownBy(() -> authService.login(request()))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void loginKeepsBadCredentialsAsIs() {
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThatThrownBy(() -> authService.login(request()))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    private static UserLoginRequest request() {
+        UserLoginRequest request = new UserLoginRequest();
+        request.setEmail("student@ima.test");
+        request.setPassword("secret");
+        return request;
+    }
+}
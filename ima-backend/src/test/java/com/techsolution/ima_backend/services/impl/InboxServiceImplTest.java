@@ -0,0 +1,115 @@
+package com.techsolution.ima_backend.services.impl;
+
+import com.techsolution.ima_backend.entities.ConversationSummary;
+import com.techsolution.ima_backend.entities.Message;
+import com.techsolution.ima_backend.entities.User;
+import com.techsolution.ima_backend.entities.UserRole;
+import com.techsolution.ima_backend.repository.ConversationSummaryRepository;
+import com.techsolution.ima_backend.repository.MessageRepository;
+import com.techsolution.ima_backend.repository.UserRepository;
+import com.techsolution.ima_backend.services.InboxService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lignes de la boîte de réception sur une vraie base (H2) : messages appliqués dans le
+ * désordre et messages envoyés à soi-même.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class InboxServiceImplTest {
+
+    @Autowired
+    private InboxService inboxService;
+
+    @Autowired
+    private ConversationSummaryRepository conversationSummaryRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User sender;
+    private User recipient;
+
+    @BeforeEach
+    void setUp() {
+        sender = userRepository.save(user("sender"));
+        recipient = userRepository.save(user("recipient"));
+    }
+
+    @Test
+    void olderMessageAppliedLateKeepsTheNewerPreviewButCountsAsUnread() {
+        LocalDateTime base = LocalDateTime.of(2025, 5, 20, 10, 0);
+        Message newer = messageRepository.save(message(sender, recipient, "Plus récent", base));
+        Message older = messageRepository.save(message(sender, recipient, "Plus ancien", base.minusMinutes(1)));
+
+        inboxService.onMessageCreated(newer);
+        inboxService.onMessageCreated(older);
+
+        for (ConversationSummary row : List.of(inbox(sender), inbox(recipient))) {
+            assertThat(row.getLastMessageId()).isEqualTo(newer.getId());
+            assertThat(row.getLastMessagePreview()).isEqualTo("Plus récent");
+            assertThat(row.getLastMessageAt()).isEqualTo(base);
+        }
+        assertThat(inbox(sender).getUnreadCount()).isZero();
+        assertThat(inbox(recipient).getUnreadCount()).isEqualTo(2);
+    }
+
+    @Test
+    void messageToOneselfCreatesASingleRowWithoutUnread() {
+        Message note = messageRepository.save(message(sender, sender, "Note", LocalDateTime.of(2025, 5, 20, 10, 0)));
+
+        inboxService.onMessageCreated(note);
+
+        ConversationSummary row = inbox(sender);
+        assertThat(row.getPeer().getId()).isEqualTo(sender.getId());
+        assertThat(row.getLastMessageId()).isEqualTo(note.getId());
+        assertThat(row.getUnreadCount()).isZero();
+    }
+
+    private ConversationSummary inbox(User owner) {
+        // Les upserts natifs contournent le contexte de persistance
+        entityManager.clear();
+        List<ConversationSummary> rows = conversationSummaryRepository.findInboxHead(owner.getId(), Limit.of(10));
+        assertThat(rows).hasSize(1);
+        return rows.getFirst();
+    }
+
+    private static Message message(User from, User to, String content, LocalDateTime sentDate) {
+        Message message = new Message();
+        message.setContent(content);
+        message.setSentDate(sentDate);
+        message.setSender(from);
+        message.setRecipient(to);
+        return message;
+    }
+
+    private static User user(String prefix) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName(prefix);
+        user.setEmail(prefix + "-" + UUID.randomUUID() + "@ima.test");
+        user.setRoles(new ArrayList<>(List.of(UserRole.STUDENT)));
+        return user;
+    }
+}
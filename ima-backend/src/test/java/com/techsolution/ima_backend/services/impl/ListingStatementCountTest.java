@@ -0,0 +1,220 @@
+package com.techsolution.ima_backend.services.impl;
+
+import com.techsolution.ima_backend.cache.InternshipCatalogCache;
+import com.techsolution.ima_backend.dtos.response.ApplicationResponse;
+import com.techsolution.ima_backend.dtos.response.CompanyResponse;
+import com.techsolution.ima_backend.entities.Agreement;
+import com.techsolution.ima_backend.entities.AgreementStatus;
+import com.techsolution.ima_backend.entities.Application;
+import com.techsolution.ima_backend.entities.ApplicationStatus;
+import com.techsolution.ima_backend.entities.Company;
+import com.techsolution.ima_backend.entities.Internship;
+import com.techsolution.ima_backend.entities.Student;
+import com.techsolution.ima_backend.entities.Teacher;
+import com.techsolution.ima_backend.entities.User;
+import com.techsolution.ima_backend.entities.UserRole;
+import com.techsolution.ima_backend.repository.AgreementRepository;
+import com.techsolution.ima_backend.repository.ApplicationRepository;
+import com.techsolution.ima_backend.repository.CompanyRepository;
+import com.techsolution.ima_backend.repository.InternshipRepository;
+import com.techsolution.ima_backend.repository.StudentRepository;
+import com.techsolution.ima_backend.repository.TeacherRepository;
+import com.techsolution.ima_backend.repository.UserRepository;
+import com.techsolution.ima_backend.services.AgreementService;
+import com.techsolution.ima_backend.services.ApplicationService;
+import com.techsolution.ima_backend.services.CompanyService;
+import com.techsolution.ima_backend.services.InternshipService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Nombre de requêtes SQL des listes (détection des N+1) : il doit rester fixe quel que soit
+ * le nombre de lignes. Les données sont écrites hors de la transaction des listes pour que
+ * le contexte de persistance ne masque aucun chargement paresseux.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ListingStatementCountTest {
+
+    private static final int ROWS = 4;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private AgreementService agreementService;
+
+    @Autowired
+    private InternshipService internshipService;
+
+    @Autowired
+    private InternshipCatalogCache internshipCatalogCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private InternshipRepository internshipRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private AgreementRepository agreementRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Teacher teacher = teacherRepository.save(teacher());
+        for (int i = 0; i < ROWS; i++) {
+            Company company = companyRepository.save(company(i));
+            Internship first = internshipRepository.save(internship(company, true));
+            internshipRepository.save(internship(company, i % 2 == 0));
+            Student student = studentRepository.save(student(i));
+            Application application = applicationRepository.save(application(first, student));
+            agreementRepository.save(agreement(application, i % 2 == 0 ? teacher : null));
+        }
+    }
+
+    @Test
+    void applicationListIsASingleQuery() {
+        assertThat(statementsFor(applicationService::getAllApplications)).isEqualTo(1);
+    }
+
+    @Test
+    void applicationListKeepsTheEntityShapeInIdOrder() {
+        List<ApplicationResponse> applications = applicationService.getAllApplications();
+
+        assertThat(applications).extracting(ApplicationResponse::getId).isSorted();
+        // Le résumé de convention ne porte pas le validateur (voir AgreementMapper.toSummaryResponse)
+        assertThat(applications)
+                .filteredOn(application -> application.getAgreement() != null)
+                .isNotEmpty()
+                .allSatisfy(application -> assertThat(application.getAgreement().getValidator()).isNull());
+    }
+
+    @Test
+    void companyListIsInIdOrder() {
+        assertThat(companyService.getAllCompanies()).extracting(CompanyResponse::getId).isSorted();
+    }
+
+    @Test
+    void companyListIsTwoQueries() {
+        assertThat(statementsFor(companyService::getAllCompanies)).isEqualTo(2);
+    }
+
+    @Test
+    void agreementListIsASingleQuery() {
+        assertThat(statementsFor(agreementService::getAllAgreements)).isEqualTo(1);
+    }
+
+    @Test
+    void activeCatalogIsASingleQueryThenServedFromCache() {
+        internshipCatalogCache.evictAllAfterCommit(); // hors transaction : invalidé immédiatement
+
+        assertThat(statementsFor(internshipService::findAllActiveInternships)).isEqualTo(1);
+        assertThat(statementsFor(internshipService::findAllActiveInternships)).isZero();
+    }
+
+    private long statementsFor(Supplier<? extends List<?>> listing) {
+        statistics.clear();
+        List<?> rows = listing.get();
+        assertThat(rows).hasSizeGreaterThanOrEqualTo(ROWS);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User user(String prefix, UserRole role) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName(prefix);
+        user.setEmail(prefix + "-" + UUID.randomUUID() + "@ima.test");
+        user.setRoles(new ArrayList<>(List.of(role)));
+        return userRepository.save(user);
+    }
+
+    private Company company(int i) {
+        Company company = new Company();
+        company.setUser(user("company", UserRole.COMPANY));
+        company.setName("Entreprise " + i);
+        return company;
+    }
+
+    private static Internship internship(Company company, boolean active) {
+        Internship internship = new Internship();
+        internship.setTitle("Stage chez " + company.getName());
+        internship.setCity("Dakar");
+        internship.setCountry("Sénégal");
+        internship.setStartDate(LocalDate.of(2026, 1, 5));
+        internship.setEndDate(LocalDate.of(2026, 6, 30));
+        internship.setIsActive(active);
+        internship.setIsPaid(true);
+        internship.setCompany(company);
+        return internship;
+    }
+
+    private Student student(int i) {
+        Student student = new Student();
+        student.setUser(user("student", UserRole.STUDENT));
+        student.setStudentCode("ETU-" + i);
+        return student;
+    }
+
+    private Teacher teacher() {
+        Teacher teacher = new Teacher();
+        teacher.setUser(user("teacher", UserRole.TEACHER));
+        teacher.setDepartment("Informatique");
+        return teacher;
+    }
+
+    private static Application application(Internship internship, Student student) {
+        Application application = new Application();
+        application.setApplicationDate(LocalDate.now());
+        application.setStatus(ApplicationStatus.PENDING);
+        application.setInternship(internship);
+        application.setStudent(student);
+        return application;
+    }
+
+    private static Agreement agreement(Application application, Teacher validator) {
+        Agreement agreement = new Agreement();
+        agreement.setCreationDate(LocalDate.now());
+        agreement.setStartDate(LocalDate.of(2026, 1, 5));
+        agreement.setEndDate(LocalDate.of(2026, 6, 30));
+        agreement.setStatus(AgreementStatus.DRAFT);
+        agreement.setApplication(application);
+        agreement.setValidator(validator);
+        return agreement;
+    }
+}
@@ -0,0 +1,143 @@
+package com.techsolution.ima_backend.services.impl;
+
+import com.techsolution.ima_backend.entities.Notification;
+import com.techsolution.ima_backend.entities.NotificationKind;
+import com.techsolution.ima_backend.entities.OutboxEvent;
+import com.techsolution.ima_backend.entities.OutboxStatus;
+import com.techsolution.ima_backend.entities.User;
+import com.techsolution.ima_backend.entities.UserRole;
+import com.techsolution.ima_backend.outbox.NotificationBatch;
+import com.techsolution.ima_backend.outbox.NotificationBatchHandler;
+import com.techsolution.ima_backend.repository.NotificationRepository;
+import com.techsolution.ima_backend.repository.OutboxEventRepository;
+import com.techsolution.ima_backend.repository.UserRepository;
+import com.techsolution.ima_backend.services.NotificationService.Draft;
+import com.techsolution.ima_backend.services.OutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regroupement des notifications sur une vraie base (H2) : une relivraison du même lot
+ * de l'outbox ne doit pas gonfler les compteurs.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class NotificationServiceImplTest {
+
+    private static final String RELATED_URL = "/internships/42/applications";
+
+    @Autowired
+    private NotificationServiceImpl notificationService;
+
+    @Autowired
+    private NotificationBatchHandler notificationBatchHandler;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User company;
+
+    @BeforeEach
+    void setUp() {
+        User newUser = new User();
+        newUser.setFirstName("Test");
+        newUser.setLastName("Company");
+        newUser.setEmail("company-" + UUID.randomUUID() + "@ima.test");
+        newUser.setRoles(new ArrayList<>(List.of(UserRole.COMPANY)));
+        company = userRepository.save(newUser);
+    }
+
+    @Test
+    void replayedBatchDoesNotInflateCoalescedCounts() {
+        NotificationBatch batch = new NotificationBatch(List.of(draft("Awa"), draft("Moussa")));
+        Long eventId = outboxRow();
+
+        assertThat(outboxService.deliverInTransaction(eventId, () -> notificationBatchHandler.handle(batch))).isTrue();
+        assertThat(outboxService.deliverInTransaction(eventId, () -> notificationBatchHandler.handle(batch))).isFalse();
+
+        List<Notification> notifications = notificationRepository.findAllByUserIdOrderByNotificationDateDescIdDesc(company.getId());
+        assertThat(notifications).hasSize(1);
+        assertThat(notifications.get(0).getOccurrences()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentBatchesForTheSameResourceCoalesceIntoOneExactCount() throws Exception {
+        int dispatchers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<Void> deliver = () -> {
+            start.await();
+            notificationService.createSystemNotifications(List.of(draft("Awa")));
+            return null;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(dispatchers);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (int i = 0; i < dispatchers; i++) {
+                results.add(executor.submit(deliver));
+            }
+            start.countDown();
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Notification> notifications = notificationRepository.findAllByUserIdOrderByNotificationDateDescIdDesc(company.getId());
+        assertThat(notifications).hasSize(1);
+        assertThat(notifications.get(0).getOccurrences()).isEqualTo(dispatchers);
+    }
+
+    @Test
+    void legacyNotificationsWithoutKindBecomeSystem() {
+        notificationService.createSystemNotifications(List.of(
+                new Draft(company.getId(), NotificationKind.SYSTEM, null, "Ancienne notification", null)));
+        jdbcTemplate.update("UPDATE notifications SET kind = NULL WHERE user_id = ?", company.getId());
+
+        notificationService.backfillKind();
+
+        assertThat(notificationRepository.findAllByUserIdOrderByNotificationDateDescIdDesc(company.getId()))
+                .extracting(Notification::getKind)
+                .containsExactly(NotificationKind.SYSTEM);
+    }
+
+    private Draft draft(String studentName) {
+        return new Draft(company.getId(), NotificationKind.APPLICATION_SUBMITTED, "Stage Java",
+                "Nouvelle candidature de " + studentName, RELATED_URL);
+    }
+
+    private Long outboxRow() {
+        LocalDateTime now = LocalDateTime.now();
+        return outboxEventRepository.save(new OutboxEvent(null, NotificationBatchHandler.TYPE, "{}",
+                OutboxStatus.PENDING, 1, now, now, null)).getId();
+    }
+}
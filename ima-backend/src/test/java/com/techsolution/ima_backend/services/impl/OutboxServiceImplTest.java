@@ -0,0 +1,108 @@
+package com.techsolution.ima_backend.services.impl;
+
+import com.techsolution.ima_backend.entities.OutboxEvent;
+import com.techsolution.ima_backend.entities.OutboxStatus;
+import com.techsolution.ima_backend.repository.OutboxEventRepository;
+import com.techsolution.ima_backend.services.OutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cycle de vie d'une ligne de l'outbox sur une vraie base (H2) : réclamation, replanification
+ * après échec, et livraison transactionnelle appliquée une seule fois.
+ * Les lignes sont écrites directement : le dispatcher de l'application n'est pas réveillé.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxServiceImplTest {
+
+    private static final String TYPE = "test.outbox";
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void failedRowIsRetriedOnlyOnceTheBackoffHasElapsed() {
+        Long id = save().getId();
+
+        OutboxEvent first = claimOne();
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(outboxService.claim(10, Duration.ofMinutes(1))).isEmpty(); // sous bail
+
+        assertThat(outboxService.markFailed(first, "boom", 10, Duration.ofMinutes(1))).isFalse();
+        assertThat(outboxService.claim(10, Duration.ofMinutes(1))).isEmpty(); // en attente du backoff
+
+        outboxService.markFailed(first, "boom", 10, Duration.ZERO);
+        OutboxEvent retry = claimOne();
+        assertThat(retry.getId()).isEqualTo(id);
+        assertThat(retry.getAttempts()).isEqualTo(2);
+        assertThat(retry.getLastError()).isEqualTo("boom");
+    }
+
+    @Test
+    void rowIsAbandonedOnceMaxAttemptsIsReached() {
+        save();
+        OutboxEvent claimed = claimOne();
+
+        assertThat(outboxService.markFailed(claimed, "boom", 1, Duration.ZERO)).isTrue();
+
+        assertThat(outboxService.claim(10, Duration.ofMinutes(1))).isEmpty();
+        assertThat(outboxEventRepository.findById(claimed.getId()))
+                .get().extracting(OutboxEvent::getStatus).isEqualTo(OutboxStatus.FAILED);
+    }
+
+    @Test
+    void transactionalDeliveryAppliesTheEffectOnce() {
+        Long id = save().getId();
+        AtomicInteger applied = new AtomicInteger();
+
+        assertThat(outboxService.deliverInTransaction(id, applied::incrementAndGet)).isTrue();
+        // Relivraison de la même ligne (bail expiré sur une autre instance)
+        assertThat(outboxService.deliverInTransaction(id, applied::incrementAndGet)).isFalse();
+
+        assertThat(applied.get()).isEqualTo(1);
+        assertThat(outboxEventRepository.existsById(id)).isFalse();
+    }
+
+    @Test
+    void failedTransactionalEffectKeepsTheRow() {
+        Long id = save().getId();
+
+        assertThatThrownBy(() -> outboxService.deliverInTransaction(id, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(outboxEventRepository.existsById(id)).isTrue();
+    }
+
+    private OutboxEvent claimOne() {
+        List<OutboxEvent> claimed = outboxService.claim(10, Duration.ofMinutes(1));
+        assertThat(claimed).hasSize(1);
+        return claimed.get(0);
+    }
+
+    private OutboxEvent save() {
+        LocalDateTime now = LocalDateTime.now();
+        return outboxEventRepository.save(new OutboxEvent(null, TYPE, "{}", OutboxStatus.PENDING, 0,
+                now.minusSeconds(1), now, null));
+    }
+}
@@ -0,0 +1,146 @@
+package com.techsolution.ima_backend.services.impl;
+
+import com.techsolution.ima_backend.entities.User;
+import com.techsolution.ima_backend.entities.UserRole;
+import com.techsolution.ima_backend.repository.RefreshTokenRepository;
+import com.techsolution.ima_backend.repository.UserRepository;
+import com.techsolution.ima_backend.security.TokenHashes;
+import com.techsolution.ima_backend.services.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Rotation des refresh tokens sur une vraie base (H2) : la consommation conditionnelle
+ * (UPDATE ... WHERE revoked = false) et la révocation de famille doivent être validées.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RefreshTokenServiceImplTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        User newUser = new User();
+        newUser.setFirstName("Awa");
+        newUser.setLastName("Diallo");
+        newUser.setEmail("refresh-" + UUID.randomUUID() + "@ima.test");
+        newUser.setRoles(new ArrayList<>(List.of(UserRole.STUDENT)));
+        user = userRepository.save(newUser);
+    }
+
+    @Test
+    void rotationConsumesTheTokenAndIssuesANewOneInTheSameFamily() {
+        String first = refreshTokenService.issue(user);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first);
+
+        assertThat(rotation.refreshToken()).isNotEqualTo(first);
+        assertThat(rotation.user().getId()).isEqualTo(user.getId());
+        assertThat(isRevoked(first)).isTrue();
+        assertThat(isRevoked(rotation.refreshToken())).isFalse();
+        assertThat(familyOf(rotation.refreshToken())).isEqualTo(familyOf(first));
+
+        // Le nouveau token se rafraîchit à son tour
+        assertThat(refreshTokenService.rotate(rotation.refreshToken()).refreshToken()).isNotNull();
+    }
+
+    @Test
+    void replayingAConsumedTokenRevokesTheWholeFamily() {
+        String first = refreshTokenService.issue(user);
+        String second = refreshTokenService.rotate(first).refreshToken();
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(first))
+                .isInstanceOf(AccessDeniedException.class);
+
+        // La révocation est validée malgré l'exception (noRollbackFor) : le token légitime ne sert plus
+        assertThat(isRevoked(second)).isTrue();
+        assertThatThrownBy(() -> refreshTokenService.rotate(second))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void otherFamiliesSurviveAReuse() {
+        String otherSession = refreshTokenService.issue(user);
+        String first = refreshTokenService.issue(user);
+        refreshTokenService.rotate(first);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(first)).isInstanceOf(AccessDeniedException.class);
+
+        assertThat(isRevoked(otherSession)).isFalse();
+    }
+
+    @Test
+    void onlyOneOfTwoConcurrentRefreshesSucceeds() throws Exception {
+        String token = refreshTokenService.issue(user);
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<String> refresh = () -> {
+            start.await();
+            return refreshTokenService.rotate(token).refreshToken();
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(refresh);
+            Future<String> second = executor.submit(refresh);
+            start.countDown();
+
+            int succeeded = 0;
+            int rejected = 0;
+            for (Future<String> result : List.of(first, second)) {
+                try {
+                    assertThat(result.get()).isNotNull();
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(AccessDeniedException.class);
+                    rejected++;
+                }
+            }
+
+            assertThat(succeeded).isEqualTo(1);
+            assertThat(rejected).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsUnknownOrMalformedTokens() {
+        assertThatThrownBy(() -> refreshTokenService.rotate("not-a-jwt")).isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotate(null)).isInstanceOf(AccessDeniedException.class);
+    }
+
+    private boolean isRevoked(String token) {
+        return refreshTokenRepository.findByTokenHashWithUser(TokenHashes.sha256Hex(token)).orElseThrow().isRevoked();
+    }
+
+    private String familyOf(String token) {
+        return refreshTokenRepository.findByTokenHashWithUser(TokenHashes.sha256Hex(token)).orElseThrow().getFamilyId();
+    }
+}
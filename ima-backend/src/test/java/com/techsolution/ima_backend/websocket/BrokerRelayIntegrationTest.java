@@ -0,0 +1,191 @@
+package com.techsolution.ima_backend.websocket;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Mode relay de WebSocketConfig contre un broker STOMP minimal en mémoire (ServerSocket
+ * qui répond CONNECTED aux CONNECT) : connexion de la session système, reconnexion après
+ * la perte du broker et jauge de disponibilité.
+ * Contexte dédié, fermé en fin de classe, sur sa propre base H2.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class BrokerRelayIntegrationTest {
+
+    private static final FakeStompBroker broker = FakeStompBroker.start();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void relayProperties(DynamicPropertyRegistry registry) {
+        registry.add("websocket.broker.mode", () -> "relay");
+        registry.add("websocket.broker.relay.host", () -> "127.0.0.1");
+        registry.add("websocket.broker.relay.port", broker::port);
+        registry.add("websocket.broker.relay.reconnect.initial-delay-ms", () -> 100);
+        registry.add("websocket.broker.relay.reconnect.max-delay-ms", () -> 500);
+        // create-drop à la fermeture : ne pas toucher à la base du contexte partagé des autres tests
+        registry.add("spring.datasource.url", () ->
+                "jdbc:h2:mem:ima-relay-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        broker.close();
+    }
+
+    @Test
+    void systemSessionConnectsAndReconnectsAfterTheBrokerDropsIt() {
+        awaitBrokerAvailable(true);
+        assertThat(broker.connects()).hasSize(1);
+        assertThat(broker.connects().getFirst()).contains("login:guest", "passcode:guest");
+        assertThat(meterRegistry.get("websocket.relay.frames").tag("direction", "outbound").counter().count())
+                .isGreaterThanOrEqualTo(1.0);
+
+        // Broker coupé puis injoignable le temps d'observer la jauge à 0
+        broker.refuseConnections(true);
+        broker.dropConnections();
+        awaitBrokerAvailable(false);
+
+        broker.refuseConnections(false);
+        awaitBrokerAvailable(true);
+        assertThat(broker.connects()).hasSize(2);
+    }
+
+    private void awaitBrokerAvailable(boolean available) {
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(meterRegistry.get("websocket.broker.available").gauge().value())
+                        .isEqualTo(available ? 1.0 : 0.0));
+    }
+
+    /**
+     * Broker STOMP réduit au strict nécessaire : accepte les connexions, répond CONNECTED
+     * (sans heartbeat) à chaque CONNECT et ignore les autres trames. Peut refuser les
+     * connexions pour simuler un broker en panne.
+     */
+    private static final class FakeStompBroker implements AutoCloseable {
+
+        private final ServerSocket serverSocket;
+        private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+        private final List<String> connects = new CopyOnWriteArrayList<>();
+        private volatile boolean refusing;
+
+        private FakeStompBroker(ServerSocket serverSocket) {
+            this.serverSocket = serverSocket;
+        }
+
+        static FakeStompBroker start() {
+            try {
+                FakeStompBroker broker = new FakeStompBroker(new ServerSocket(0));
+                Thread.ofVirtual().start(broker::acceptLoop);
+                return broker;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        int port() {
+            return serverSocket.getLocalPort();
+        }
+
+        List<String> connects() {
+            return connects;
+        }
+
+        void refuseConnections(boolean refusing) {
+            this.refusing = refusing;
+        }
+
+        void dropConnections() {
+            sockets.forEach(FakeStompBroker::closeQuietly);
+            sockets.clear();
+        }
+
+        @Override
+        public void close() {
+            closeQuietly(serverSocket);
+            dropConnections();
+        }
+
+        private void acceptLoop() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    if (refusing) {
+                        closeQuietly(socket);
+                        continue;
+                    }
+                    sockets.add(socket);
+                    Thread.ofVirtual().start(() -> serve(socket));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (socket; InputStream in = socket.getInputStream(); OutputStream out = socket.getOutputStream()) {
+                String frame;
+                while ((frame = readFrame(in)) != null) {
+                    if (frame.startsWith("CONNECT") || frame.startsWith("STOMP")) {
+                        connects.add(frame);
+                        out.write("CONNECTED\nversion:1.2\nheart-beat:0,0\n\n\0".getBytes(StandardCharsets.UTF_8));
+                        out.flush();
+                    }
+                }
+            } catch (IOException e) {
+                // connexion coupée par le test ou par le relais
+            }
+        }
+
+        // Une trame se termine par NUL ; les fins de ligne isolées sont des heartbeats
+        private static String readFrame(InputStream in) throws IOException {
+            ByteArrayOutputStream frame = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == 0) {
+                    return frame.toString(StandardCharsets.UTF_8);
+                }
+                if (frame.size() > 0 || (b != '\n' && b != '\r')) {
+                    frame.write(b);
+                }
+            }
+            return null;
+        }
+
+        private static void closeQuietly(AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                if (!(e instanceof SocketException)) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.techsolution.ima_backend.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExponentialBackoffReconnectStrategyTest {
+
+    private static final int SAMPLES = 1_000;
+
+    private final ExponentialBackoffReconnectStrategy strategy =
+            new ExponentialBackoffReconnectStrategy(1_000, 30_000, 2.0);
+
+    @Test
+    void delayGrowsExponentiallyWithinTheJitterBand() {
+        // 1 s, 2 s, 4 s, 8 s, 16 s ±20 %, jamais sous le délai initial
+        assertDelays(1, 1_000, 1_200);
+        assertDelays(2, 1_600, 2_400);
+        assertDelays(3, 3_200, 4_800);
+        assertDelays(4, 6_400, 9_600);
+        assertDelays(5, 12_800, 19_200);
+    }
+
+    @Test
+    void delayIsCappedAtTheMaximumBeforeJitter() {
+        assertDelays(6, 24_000, 36_000);
+        assertDelays(50, 24_000, 36_000);
+        // Pas de débordement du calcul pour un très grand nombre de tentatives
+        assertDelays(Integer.MAX_VALUE, 24_000, 36_000);
+    }
+
+    @Test
+    void jitterSpreadsTheDelaysOfConcurrentNodes() {
+        long distinct = IntStream.range(0, SAMPLES)
+                .mapToObj(i -> strategy.getTimeToNextAttempt(10))
+                .distinct()
+                .count();
+
+        assertThat(distinct).isGreaterThan(1);
+    }
+
+    private void assertDelays(int attempt, long min, long max) {
+        for (int i = 0; i < SAMPLES; i++) {
+            assertThat(strategy.getTimeToNextAttempt(attempt)).isBetween(min, max);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.techsolution.ima_backend.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.tcp.FixedIntervalReconnectStrategy;
+import org.springframework.messaging.tcp.ReconnectStrategy;
+import org.springframework.messaging.tcp.TcpConnection;
+import org.springframework.messaging.tcp.TcpConnectionHandler;
+import org.springframework.messaging.tcp.TcpOperations;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class InstrumentedTcpClientTest {
+
+    @SuppressWarnings("unchecked")
+    private final TcpOperations<byte[]> delegate = mock(TcpOperations.class);
+    @SuppressWarnings("unchecked")
+    private final TcpConnectionHandler<byte[]> handler = mock(TcpConnectionHandler.class);
+    @SuppressWarnings("unchecked")
+    private final TcpConnection<byte[]> connection = mock(TcpConnection.class);
+    private final ReconnectStrategy reconnectStrategy = new ExponentialBackoffReconnectStrategy(1_000, 30_000, 2.0);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private InstrumentedTcpClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new InstrumentedTcpClient(delegate, reconnectStrategy, new BrokerRelayMetrics(meterRegistry));
+    }
+
+    @Test
+    void framesAreCountedInBothDirections() {
+        TcpConnectionHandler<byte[]> counting = connect();
+        TcpConnection<byte[]> wrapped = afterConnected(counting);
+        Message<byte[]> frame = MessageBuilder.withPayload(new byte[0]).build();
+
+        wrapped.sendAsync(frame);
+        wrapped.sendAsync(frame);
+        counting.handleMessage(frame);
+
+        assertThat(frames("outbound")).isEqualTo(2.0);
+        assertThat(frames("inbound")).isEqualTo(1.0);
+        verify(connection, times(2)).sendAsync(frame);
+        verify(handler).handleMessage(frame);
+    }
+
+    @Test
+    void connectFailuresAreCountedAndForwarded() {
+        TcpConnectionHandler<byte[]> counting = connect();
+        IOException failure = new IOException("connexion refusée");
+
+        counting.afterConnectFailure(failure);
+
+        assertThat(meterRegistry.get("websocket.relay.connect.failures").counter().count()).isEqualTo(1.0);
+        verify(handler).afterConnectFailure(failure);
+    }
+
+    @Test
+    void systemSessionReconnectsWithTheConfiguredStrategy() {
+        client.connectAsync(handler, new FixedIntervalReconnectStrategy(5_000));
+
+        verify(delegate).connectAsync(any(), same(reconnectStrategy));
+    }
+
+    @SuppressWarnings("unchecked")
+    private TcpConnectionHandler<byte[]> connect() {
+        client.connectAsync(handler);
+        ArgumentCaptor<TcpConnectionHandler<byte[]>> captor = ArgumentCaptor.forClass(TcpConnectionHandler.class);
+        verify(delegate).connectAsync(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private TcpConnection<byte[]> afterConnected(TcpConnectionHandler<byte[]> counting) {
+        counting.afterConnected(connection);
+        ArgumentCaptor<TcpConnection<byte[]>> captor = ArgumentCaptor.forClass(TcpConnection.class);
+        verify(handler).afterConnected(captor.capture());
+        return captor.getValue();
+    }
+
+    private double frames(String direction) {
+        return meterRegistry.get("websocket.relay.frames").tag("direction", direction).counter().count();
+    }
+}